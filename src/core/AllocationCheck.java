@@ -0,0 +1,282 @@
+package core;
+
+import entities.enemies.Enemy;
+import entities.enemies.EnemyStore;
+import entities.projectiles.ArrowProjectile;
+import entities.projectiles.Projectile;
+import entities.towers.Tower;
+import patterns.factories.EnemyFactory;
+import patterns.factories.TowerFactory;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the per-tick movement, homing and range-check paths allocate nothing
+ * HeadlessGame's bytes-per-tick figure covers the whole tick, including spawns, shots, events
+ * and log strings; this times only the rewritten paths, on worlds set up so that nothing spawns,
+ * fires, hits or leaks while they are measured. Exits with status 1 if any of them allocated
+ */
+public class AllocationCheck {
+    private static final double STEP = HeadlessGame.DEFAULT_TIME_STEP;
+
+    /**
+     * Entry point
+     * Usage: java core.AllocationCheck [--ticks N] [--enemies N]
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int ticks = 120; // short enough that no enemy reaches the house
+        int enemyCount = 200;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Integer.parseInt(args[++i]);
+                    break;
+                case "--enemies":
+                    enemyCount = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java core.AllocationCheck [--ticks N] [--enemies N]");
+                    System.exit(2);
+            }
+        }
+        if (allocatedBytes() < 0) {
+            System.err.println("This JVM does not count allocated bytes per thread");
+            System.exit(2);
+        }
+
+        // Setting the worlds up logs to stdout; only the table should show
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+        }));
+
+        boolean clean = true;
+        try {
+            console.println(String.format("Bytes allocated on the simulation thread, %d enemies, %d ticks per path", enemyCount, ticks));
+            console.println(String.format("%-28s | %10s | %12s", "path", "calls", "bytes"));
+            clean &= report(console, "measurement overhead", measureNothing(ticks));
+            clean &= report(console, "enemy movement", measureMovement(enemyCount, ticks));
+            clean &= report(console, "projectile homing", measureHoming(enemyCount, ticks));
+            clean &= report(console, "tower range checks", measureRangeChecks(enemyCount, ticks));
+            clean &= report(console, "enemy range checks", measureEnemyQueries(enemyCount, ticks));
+        } finally {
+            System.setOut(console);
+        }
+        if (!clean) {
+            System.exit(1);
+        }
+    }
+
+    private static long[] measureNothing(int ticks) {
+        long total = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long before = allocatedBytes();
+            total += allocatedBytes() - before;
+        }
+        return new long[] {ticks, total};
+    }
+
+    /**
+     * EnemyStore.advance plus each enemy's update; no towers, so nothing attacks or is attacked
+     */
+    private static long[] measureMovement(int enemyCount, int ticks) {
+        GameState world = createWorld(enemyCount);
+        EnemyStore store = world.getEnemyStore();
+        List<Enemy> enemies = world.getEnemiesView();
+        warmUp(() -> moveAll(store, enemies), ticks);
+
+        long calls = 0, total = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long before = allocatedBytes();
+            moveAll(store, enemies);
+            total += allocatedBytes() - before;
+            calls += enemies.size();
+        }
+        return new long[] {calls, total};
+    }
+
+    private static void moveAll(EnemyStore store, List<Enemy> enemies) {
+        store.advance(STEP);
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).update(STEP);
+        }
+    }
+
+    /**
+     * Arrows steering after live enemies from the far corner, relaunched before they can arrive
+     */
+    private static long[] measureHoming(int enemyCount, int ticks) {
+        GameState world = createWorld(enemyCount);
+        List<Enemy> enemies = world.getEnemiesView();
+        List<Projectile> arrows = new ArrayList<>();
+        for (int i = 0; i < enemies.size(); i++) {
+            arrows.add(new ArrowProjectile(world));
+        }
+        Runnable relaunch = () -> {
+            for (int i = 0; i < arrows.size(); i++) {
+                ((ArrowProjectile) arrows.get(i)).launch(799, 599, enemies.get(i), 1, 0);
+            }
+        };
+        warmUp(() -> {
+            relaunch.run();
+            steerAll(arrows);
+        }, ticks);
+
+        long calls = 0, total = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick % 10 == 0) {
+                relaunch.run(); // outside the measured part; ten steps cover far less than the field
+            }
+            long before = allocatedBytes();
+            steerAll(arrows);
+            total += allocatedBytes() - before;
+            calls += arrows.size();
+        }
+        return new long[] {calls, total};
+    }
+
+    private static void steerAll(List<Projectile> arrows) {
+        for (int i = 0; i < arrows.size(); i++) {
+            arrows.get(i).update(STEP);
+        }
+    }
+
+    /**
+     * Each tower's in-range list and path-ordered target queries
+     */
+    private static long[] measureRangeChecks(int enemyCount, int ticks) {
+        GameState world = createWorld(enemyCount);
+        List<Tower> towers = placeTowers(world);
+        warmUp(() -> queryTowers(towers), ticks);
+
+        long calls = 0, total = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long before = allocatedBytes();
+            queryTowers(towers);
+            total += allocatedBytes() - before;
+            calls += towers.size() * 4L;
+        }
+        return new long[] {calls, total};
+    }
+
+    private static int sink; // keeps the query results alive
+
+    private static void queryTowers(List<Tower> towers) {
+        for (int i = 0; i < towers.size(); i++) {
+            Tower tower = towers.get(i);
+            sink += tower.getEnemiesInRange().size();
+            sink += tower.findMostAdvancedInRange() != null ? 1 : 0;
+            sink += tower.findLeastAdvancedInRange() != null ? 1 : 0;
+            sink += tower.findClosestToExitInRange() != null ? 1 : 0;
+        }
+    }
+
+    /**
+     * Grid queries enemies and projectiles make: enemies near a point, towers near an enemy
+     */
+    private static long[] measureEnemyQueries(int enemyCount, int ticks) {
+        GameState world = createWorld(enemyCount);
+        placeTowers(world);
+        EnemyStore store = world.getEnemyStore();
+        List<Enemy> enemies = world.getEnemiesView();
+        warmUp(() -> queryAround(world, store, enemies), ticks);
+
+        long calls = 0, total = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long before = allocatedBytes();
+            queryAround(world, store, enemies);
+            total += allocatedBytes() - before;
+            calls += enemies.size() * 4L;
+        }
+        return new long[] {calls, total};
+    }
+
+    private static void queryAround(GameState world, EnemyStore store, List<Enemy> enemies) {
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            double x = enemy.getX(), y = enemy.getY();
+            sink += store.findFirstInRange(x, y, 26) != null ? 1 : 0;
+            sink += store.findNearestInRange(x, y, 40, enemy) != null ? 1 : 0;
+            sink += world.getTowerIndex().findFirstWithin(x, y, 30) != null ? 1 : 0;
+            sink += world.getTowerIndex().findNearestWithin(x, y, 100) != null ? 1 : 0;
+        }
+    }
+
+    /**
+     * Level 2 with enemies spread over the first stretch of its paths
+     */
+    private static GameState createWorld(int enemyCount) {
+        GameState world = new GameState(new WaveConfig(), 1L);
+        world.setLevel(2);
+        world.addMoney(1_000_000);
+        EnemyFactory factory = new EnemyFactory(world);
+        for (int i = 0; i < enemyCount; i++) {
+            world.spawnEnemy(factory.createEnemy(EnemyType.BOSS, 1));
+            world.getEnemyStore().advance(4.0 / enemyCount);
+        }
+        return world;
+    }
+
+    /**
+     * Archers on a lattice wherever the placement mask allows
+     */
+    private static List<Tower> placeTowers(GameState world) {
+        TowerFactory factory = new TowerFactory(world);
+        for (int x = 40; x <= 760; x += 60) {
+            for (int y = 40; y <= 560; y += 60) {
+                if (world.getPlacementMask().isValid(x, y)) {
+                    world.placeTower(factory.createTower(TowerType.ARCHER, x, y));
+                }
+            }
+        }
+        return world.getTowersView();
+    }
+
+    /**
+     * Run a path untimed first, so lazy indexes and scratch arrays have grown and the JIT has compiled it
+     */
+    private static void warmUp(Runnable path, int ticks) {
+        for (int round = 0; round < 20; round++) {
+            for (int tick = 0; tick < Math.min(ticks, 10); tick++) {
+                path.run();
+            }
+        }
+    }
+
+    private static boolean report(PrintStream console, String path, long[] result) {
+        console.println(String.format("%-28s | %10d | %12d", path, result[0], result[1]));
+        return result[1] == 0;
+    }
+
+    /**
+     * Bytes allocated so far by this thread, or -1 if the JVM does not track it
+     * The bean and thread id are looked up once: getThreadMXBean and friends allocate themselves
+     */
+    private static long allocatedBytes() {
+        if (COUNTER == null) return -1;
+        return COUNTER.getThreadAllocatedBytes(THREAD_ID);
+    }
+
+    private static final long THREAD_ID = Thread.currentThread().getId(); // main; the check runs on it
+    private static final com.sun.management.ThreadMXBean COUNTER = allocationCounter();
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,320 @@
+package core;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers game events to listeners on a thread of its own, so a slow listener cannot stall a tick
+ * The simulation thread is the only producer: it copies each event into the next slot of a ring
+ * allocated up front and moves on; a consumer thread drains the ring in order and calls the
+ * listeners. What happens when the ring is full is the Backpressure setting. Meant for UI,
+ * logging and analytics; gameplay listeners stay synchronous (GameEventManager.addListener),
+ * since they must see an event before the tick goes on
+ */
+public class AsyncEventBus {
+    /**
+     * What publish does when the consumer falls behind
+     */
+    public enum Backpressure {
+        DROP,   // full ring: discard the new event
+        BLOCK,  // full ring: wait for the consumer; no event is lost, but the tick stalls
+        SAMPLE  // ring half full: keep one event in sampleRate; full ring: discard
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final Backpressure backpressure;
+    private final int sampleRate;
+    private final Map<EventType, List<GameEventListener>> listeners;
+
+    private final AtomicLong head = new AtomicLong(); // next sequence to write, producer only
+    private final AtomicLong tail = new AtomicLong(); // next sequence to read, consumer only
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private volatile Thread consumer;
+    private volatile Thread drainThread; // the consumer, kept after close so publish can wait for it
+
+    // Stats; each is written by one thread at a time
+    private volatile long published;
+    private volatile long dropped;
+    private volatile long blockedNanos;
+    private volatile int peakDepth;
+    private volatile long delivered;
+    private volatile long listenerErrors;
+    private long sampleCounter;
+
+    /**
+     * @param capacity slots in the ring, rounded up to a power of two
+     * @param sampleRate for SAMPLE, keep one event in this many while the ring is half full
+     */
+    public AsyncEventBus(int capacity, Backpressure backpressure, int sampleRate) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2: " + capacity);
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be at least 1: " + sampleRate);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.backpressure = backpressure;
+        this.sampleRate = sampleRate;
+        this.listeners = new EnumMap<>(EventType.class);
+        for (EventType type : EventType.values()) {
+            listeners.put(type, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Start the consumer thread
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        Thread thread = new Thread(this::drain, "game-events");
+        thread.setDaemon(true);
+        consumer = thread;
+        drainThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop taking events, deliver the ones already in the ring and wait for the consumer to finish
+     */
+    public synchronized void close() {
+        running = false;
+        Thread thread = consumer;
+        consumer = null;
+        if (thread == null || thread == Thread.currentThread()) return;
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void addListener(EventType eventType, GameEventListener listener) {
+        listeners.get(eventType).add(listener);
+    }
+
+    public void removeListener(EventType eventType, GameEventListener listener) {
+        listeners.get(eventType).remove(listener);
+    }
+
+    public boolean hasListeners(EventType eventType) {
+        return !listeners.get(eventType).isEmpty();
+    }
+
+    public void clear() {
+        listeners.values().forEach(List::clear);
+    }
+
+    /**
+     * Hand an event to the consumer; only call from the simulation thread
+     * @return false if the event was dropped
+     */
+    public boolean publish(GameEvent event) {
+        if (!running) {
+            dropped++;
+            return false;
+        }
+        long sequence = head.get();
+        long depth = sequence - tail.get();
+
+        if (backpressure == Backpressure.SAMPLE && depth >= slots.length / 2 && sampleCounter++ % sampleRate != 0) {
+            dropped++;
+            return false;
+        }
+        if (depth >= slots.length) {
+            if (backpressure != Backpressure.BLOCK) {
+                dropped++;
+                return false;
+            }
+            long start = System.nanoTime();
+            while (sequence - tail.get() >= slots.length) {
+                if (!running) {
+                    dropped++;
+                    return false;
+                }
+                LockSupport.unpark(consumer);
+                LockSupport.parkNanos(10_000L);
+            }
+            blockedNanos += System.nanoTime() - start;
+            depth = sequence - tail.get();
+        }
+
+        slots[(int) sequence & mask].store(event);
+        head.set(sequence + 1);
+        published++;
+        if (depth + 1 > peakDepth) {
+            peakDepth = (int) (depth + 1);
+        }
+        if (!running) {
+            // Closed since the check above; the consumer may have exited without seeing this event
+            deliverAfterClose();
+            return true;
+        }
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+    
+    /**
+     * Wait for the consumer to finish, then deliver what it left in the ring on this thread
+     * Once the consumer has exited this is the only reader, so tail is safe to advance here
+     */
+    private void deliverAfterClose() {
+        Thread thread = drainThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (long sequence = tail.get(); sequence != head.get(); sequence = tail.get()) {
+            deliver(sequence);
+        }
+    }
+
+    /**
+     * Consumer loop: deliver events in order until closed and empty
+     */
+    private void drain() {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence == head.get()) {
+                if (!running) return;
+                consumerParked = true;
+                // Re-check after announcing, so a publish in between is not slept through
+                if (sequence == head.get() && running) {
+                    LockSupport.parkNanos(this, 1_000_000L);
+                }
+                consumerParked = false;
+                continue;
+            }
+
+            deliver(sequence);
+        }
+    }
+    
+    /**
+     * Call the listeners for the event at this sequence and free its slot
+     */
+    private void deliver(long sequence) {
+        Slot slot = slots[(int) sequence & mask];
+        GameEvent event = slot.event;
+        for (GameEventListener listener : listeners.get(event.getType())) {
+            try {
+                listener.onEvent(event);
+            } catch (Exception e) {
+                listenerErrors++;
+                System.err.println("Error in async event listener: " + e.getMessage());
+            }
+        }
+        slot.event = null; // don't keep the event reachable once delivered
+        tail.set(sequence + 1);
+        delivered++;
+    }
+
+    // Stats
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * Events published but not delivered yet
+     */
+    public int getDepth() {
+        return (int) (head.get() - tail.get());
+    }
+
+    /**
+     * Deepest the ring has been right after a publish
+     */
+    public int getPeakDepth() {
+        return peakDepth;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Events discarded by DROP or SAMPLE, or published after close
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Time the producer spent waiting for room under BLOCK
+     */
+    public long getBlockedNanos() {
+        return blockedNanos;
+    }
+
+    public long getListenerErrors() {
+        return listenerErrors;
+    }
+
+    /**
+     * One ring entry; events GameState reuses are copied into the slot's own instance of the same
+     * type, the others are immutable and kept by reference
+     */
+    private static final class Slot {
+        final EnemyEvent[] enemy = new EnemyEvent[EventType.values().length]; // by EventType ordinal
+        final ProjectileEvent[] projectile = new ProjectileEvent[EventType.values().length];
+        GameEvent event;
+
+        Slot() {
+            for (EventType type : new EventType[] {EventType.ENEMY_SPAWNED, EventType.ENEMY_KILLED, EventType.ENEMY_REACHED_END}) {
+                enemy[type.ordinal()] = new EnemyEvent(type);
+            }
+            projectile[EventType.PROJECTILE_FIRED.ordinal()] = new ProjectileEvent(EventType.PROJECTILE_FIRED);
+        }
+
+        void store(GameEvent source) {
+            int ordinal = source.getType().ordinal();
+            if (source instanceof EnemyEvent) {
+                if (enemy[ordinal] == null) {
+                    enemy[ordinal] = new EnemyEvent(source.getType());
+                }
+                enemy[ordinal].copyFrom((EnemyEvent) source);
+                event = enemy[ordinal];
+            } else if (source instanceof ProjectileEvent) {
+                if (projectile[ordinal] == null) {
+                    projectile[ordinal] = new ProjectileEvent(source.getType());
+                }
+                projectile[ordinal].copyFrom((ProjectileEvent) source);
+                event = projectile[ordinal];
+            } else {
+                event = source;
+            }
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package core;
+
+import entities.towers.Tower;
+import patterns.factories.TowerFactory;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel batch runner for wave-balance sweeps
+ * Runs many headless matches per scenario (wave config x tower layout) on a fork-join pool
+ * and aggregates the results into percentiles
+ */
+public class BatchSimulation {
+    private final int level;
+    private final int matchesPerScenario;
+    private final double gameDuration;
+    private final long baseSeed;
+    private final ForkJoinPool pool;
+
+    public BatchSimulation(int level, int matchesPerScenario, double gameDuration, long baseSeed, int parallelism) {
+        this.level = level;
+        this.matchesPerScenario = matchesPerScenario;
+        this.gameDuration = gameDuration;
+        this.baseSeed = baseSeed;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Run every scenario matchesPerScenario times
+     * @return results grouped by scenario, in scenario order
+     */
+    public Map<Scenario, List<MatchResult>> run(List<Scenario> scenarios) throws InterruptedException {
+        List<Scenario> matches = scenarios.stream()
+            .flatMap(scenario -> Collections.nCopies(matchesPerScenario, scenario).stream())
+            .collect(Collectors.toList());
+
+        try {
+            // Parallel streams submitted from inside a pool run on that pool
+            List<MatchResult> results = pool.submit(() ->
+                IntStream.range(0, matches.size()).parallel()
+                    .mapToObj(i -> runMatch(matches.get(i), baseSeed + i))
+                    .collect(Collectors.toList())
+            ).get();
+
+            return results.stream().collect(Collectors.groupingBy(
+                MatchResult::getScenario, LinkedHashMap::new, Collectors.toList()));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch simulation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Play one match to the end; the same scenario and seed always give the same result
+     */
+    MatchResult runMatch(Scenario scenario, long seed) {
+        GameState state = new GameState(scenario.getWaveConfig(), seed);
+        state.setLevel(level);
+        state.setGameDuration(gameDuration);
+
+        MatchResult result = new MatchResult(scenario, seed);
+        GameEventManager events = state.getEventManager();
+        events.addListener(EventType.WAVE_STARTED, event -> result.recordWaveStart(state.getPlayerMoney()));
+        events.addListener(EventType.WAVE_COMPLETED, event -> result.recordWaveCompleted());
+        events.addListener(EventType.ENEMY_REACHED_END, event -> result.recordLeak());
+
+        // Build the layout in order, each tower as soon as it is affordable
+        TowerFactory towerFactory = new TowerFactory(state);
+        List<TowerPlacement> buildOrder = scenario.getLayout().getPlacements();
+        int nextPlacement = 0;
+        Tower pending = null;
+
+        HeadlessGame game = new HeadlessGame(state, HeadlessGame.DEFAULT_TIME_STEP);
+        while (!game.isFinished()) {
+            while (nextPlacement < buildOrder.size()) {
+                if (pending == null) {
+                    TowerPlacement placement = buildOrder.get(nextPlacement);
+                    pending = towerFactory.createTower(placement.getTowerType(), placement.getX(), placement.getY());
+                }
+                if (state.getPlayerMoney() < pending.getBaseCost()) {
+                    break;
+                }
+                // Invalid spots are skipped rather than retried forever
+                state.placeTower(pending);
+                pending = null;
+                nextPlacement++;
+            }
+            game.run(1);
+        }
+
+        result.finish(state);
+        return result;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array
+     */
+    static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return Double.NaN;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    static double[] sortedValues(List<MatchResult> results, java.util.function.ToDoubleFunction<MatchResult> metric) {
+        return results.stream().mapToDouble(metric).sorted().toArray();
+    }
+
+    /**
+     * Print the percentile table for a finished batch
+     */
+    static void printReport(PrintStream out, Map<Scenario, List<MatchResult>> grouped) {
+        out.println(String.format("%-44s %-14s %6s | %-14s | %-14s | %-17s | %s",
+            "waves", "layout", "win%", "waves p10/50/90", "leaks p10/50/90", "money p10/50/90", "money@wave p50"));
+
+        for (Map.Entry<Scenario, List<MatchResult>> entry : grouped.entrySet()) {
+            Scenario scenario = entry.getKey();
+            List<MatchResult> results = entry.getValue();
+
+            double winRate = results.stream().mapToDouble(r -> r.isWon() ? 1.0 : 0.0).average().orElse(0.0);
+            double[] waves = sortedValues(results, MatchResult::getWavesCompleted);
+            double[] leaks = sortedValues(results, MatchResult::getLeaks);
+            double[] money = sortedValues(results, MatchResult::getFinalMoney);
+
+            // Money curve: median money at the start of each wave
+            int maxWaves = results.stream().mapToInt(r -> r.getMoneyAtWaveStart().size()).max().orElse(0);
+            String curve = IntStream.range(0, maxWaves)
+                .mapToObj(w -> {
+                    double[] atWave = results.stream()
+                        .filter(r -> r.getMoneyAtWaveStart().size() > w)
+                        .mapToDouble(r -> r.getMoneyAtWaveStart().get(w))
+                        .sorted().toArray();
+                    return String.valueOf((int) percentile(atWave, 50));
+                })
+                .collect(Collectors.joining(" "));
+
+            out.println(String.format("%-44s %-14s %5.1f%% | %4.0f %4.0f %4.0f | %4.0f %4.0f %4.0f | %5.0f %5.0f %5.0f | %s",
+                scenario.getWaveConfig(), scenario.getLayout().getName(), winRate * 100,
+                percentile(waves, 10), percentile(waves, 50), percentile(waves, 90),
+                percentile(leaks, 10), percentile(leaks, 50), percentile(leaks, 90),
+                percentile(money, 10), percentile(money, 50), percentile(money, 90),
+                curve));
+        }
+    }
+
+    /**
+     * Default sweep: spawn timing x type mix x tower layout (layouts are laid out for level 1)
+     */
+    static List<Scenario> defaultScenarios() {
+        WaveConfig defaults = new WaveConfig();
+        List<WaveConfig> configs = new ArrayList<>();
+        double[][] intervals = {{0.8, 0.15}, {1.0, 0.2}, {1.2, 0.3}};
+        double[][] mixes = {
+            {0.4, 0.25, 0.15, 0.1, 0.1},   // shipped mix
+            {0.2, 0.5, 0.1, 0.1, 0.1},     // fast-heavy
+            {0.2, 0.15, 0.45, 0.1, 0.1}    // armored-heavy
+        };
+        for (double[] interval : intervals) {
+            for (double[] mix : mixes) {
+                configs.add(defaults.withSpawnIntervals(interval[0], interval[1])
+                    .withMix(mix[0], mix[1], mix[2], mix[3], mix[4]));
+            }
+        }
+
+        List<TowerLayout> layouts = Arrays.asList(
+            new TowerLayout("none", Collections.emptyList()),
+            new TowerLayout("archer-line", Arrays.asList(
+                new TowerPlacement(TowerType.ARCHER, 100, 260),
+                new TowerPlacement(TowerType.ARCHER, 300, 260),
+                new TowerPlacement(TowerType.ARCHER, 500, 260),
+                new TowerPlacement(TowerType.ARCHER, 680, 260))),
+            new TowerLayout("mixed", Arrays.asList(
+                new TowerPlacement(TowerType.ARCHER, 300, 260),
+                new TowerPlacement(TowerType.ICE, 350, 340),
+                new TowerPlacement(TowerType.CANNON, 500, 260),
+                new TowerPlacement(TowerType.LIGHTNING, 650, 340))),
+            new TowerLayout("front-loaded", Arrays.asList(
+                new TowerPlacement(TowerType.ARCHER, 100, 260),
+                new TowerPlacement(TowerType.ARCHER, 100, 340),
+                new TowerPlacement(TowerType.POISON, 250, 260),
+                new TowerPlacement(TowerType.CANNON, 250, 340)))
+        );
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (WaveConfig config : configs) {
+            for (TowerLayout layout : layouts) {
+                scenarios.add(new Scenario(config, layout));
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Batch entry point
+     * Usage: java core.BatchSimulation [--matches N] [--duration SECONDS] [--seed N] [--threads N] [--level N]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+
+        int matches = 50;
+        double duration = 120.0;
+        long seed = 1L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int level = 1;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--matches":
+                    matches = Integer.parseInt(args[++i]);
+                    break;
+                case "--duration":
+                    duration = Double.parseDouble(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--level":
+                    level = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java core.BatchSimulation [--matches N] [--duration SECONDS] " +
+                        "[--seed N] [--threads N] [--level N]");
+                    System.exit(2);
+            }
+        }
+
+        List<Scenario> scenarios = defaultScenarios();
+        BatchSimulation batch = new BatchSimulation(level, matches, duration, seed, threads);
+
+        // Mute the per-entity console log while matches run
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+        }));
+
+        Map<Scenario, List<MatchResult>> grouped;
+        long start = System.nanoTime();
+        try {
+            grouped = batch.run(scenarios);
+        } finally {
+            System.setOut(console);
+            batch.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        int total = scenarios.size() * matches;
+        console.println(String.format("Batch: %d scenarios x %d matches = %d matches on %d threads in %.2f s (%.0f matches/s)",
+            scenarios.size(), matches, total, threads, seconds, total / seconds));
+        console.println();
+        printReport(console, grouped);
+    }
+}
+
+/**
+ * A named tower build order
+ */
+class TowerLayout {
+    private final String name;
+    private final List<TowerPlacement> placements;
+
+    public TowerLayout(String name, List<TowerPlacement> placements) {
+        this.name = name;
+        this.placements = Collections.unmodifiableList(new ArrayList<>(placements));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<TowerPlacement> getPlacements() {
+        return placements;
+    }
+}
+
+/**
+ * One point of a balance sweep
+ */
+class Scenario {
+    private final WaveConfig waveConfig;
+    private final TowerLayout layout;
+
+    public Scenario(WaveConfig waveConfig, TowerLayout layout) {
+        this.waveConfig = waveConfig;
+        this.layout = layout;
+    }
+
+    public WaveConfig getWaveConfig() {
+        return waveConfig;
+    }
+
+    public TowerLayout getLayout() {
+        return layout;
+    }
+}
+
+/**
+ * Outcome of one batch match
+ */
+class MatchResult {
+    private final Scenario scenario;
+    private final long seed;
+    private final List<Integer> moneyAtWaveStart;
+    private int wavesCompleted;
+    private int leaks;
+    private int kills;
+    private int finalMoney;
+    private int score;
+    private boolean won;
+
+    public MatchResult(Scenario scenario, long seed) {
+        this.scenario = scenario;
+        this.seed = seed;
+        this.moneyAtWaveStart = new ArrayList<>();
+    }
+
+    void recordWaveStart(int money) {
+        moneyAtWaveStart.add(money);
+    }
+
+    void recordWaveCompleted() {
+        wavesCompleted++;
+    }
+
+    void recordLeak() {
+        leaks++;
+    }
+
+    void finish(GameState state) {
+        kills = state.getEnemiesKilled();
+        finalMoney = state.getPlayerMoney();
+        score = state.getScore();
+        won = state.isGameWon();
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Integer> getMoneyAtWaveStart() {
+        return moneyAtWaveStart;
+    }
+
+    public double getWavesCompleted() {
+        return wavesCompleted;
+    }
+
+    public double getLeaks() {
+        return leaks;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public double getFinalMoney() {
+        return finalMoney;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+}
@@ -0,0 +1,285 @@
+package core;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tick-stamped record of every player command applied to a world
+ * Together with the world's seed and settings this is enough to replay a match exactly,
+ * so a replay stores a few bytes per action instead of any game state
+ *
+ * Format: header (magic, version, seed, step, duration, level, target lock interval, wave config,
+ * command count),
+ * then per command: varint tick delta, opcode byte, arguments
+ */
+public class CommandLog {
+    static final int MAGIC = 0x5444434C; // "TDCL"
+    static final int VERSION = 2; // 2 added level and target lock interval
+
+    // Command opcodes
+    static final int OP_PLACE_TOWER = 1;
+    static final int OP_UPGRADE_TOWER = 2;
+    static final int OP_SELL_TOWER = 3;
+    static final int OP_SET_LEVEL = 4;
+
+    // World settings needed to rebuild the match
+    private final long seed;
+    private final double stepSeconds;
+    private final double gameDuration;
+    private final int level;
+    private final double targetLockInterval;
+    private final WaveConfig waveConfig;
+
+    // Encoded command stream
+    private final ByteArrayOutputStream body;
+    private final DataOutputStream bodyOut;
+    private int commandCount;
+    private long lastTick;
+
+    public CommandLog(GameState world, double stepSeconds) {
+        this(world.getSeed(), stepSeconds, world.getGameDuration(), world.getCurrentLevel(),
+             world.getTargetLockInterval(), world.getWaveConfig());
+    }
+
+    CommandLog(long seed, double stepSeconds, double gameDuration, int level, double targetLockInterval,
+               WaveConfig waveConfig) {
+        this.seed = seed;
+        this.stepSeconds = stepSeconds;
+        this.gameDuration = gameDuration;
+        this.level = level;
+        this.targetLockInterval = targetLockInterval;
+        this.waveConfig = waveConfig;
+        this.body = new ByteArrayOutputStream();
+        this.bodyOut = new DataOutputStream(body);
+        this.commandCount = 0;
+        this.lastTick = 0;
+    }
+
+    /**
+     * Append a command that is applied before simulation step number tick
+     * Ticks must not decrease
+     */
+    public synchronized void record(long tick, PlayerCommand command) {
+        if (tick < lastTick) {
+            throw new IllegalArgumentException("Command tick went backwards: " + tick + " < " + lastTick);
+        }
+        try {
+            writeVarLong(bodyOut, tick - lastTick);
+            bodyOut.writeByte(command.getOpcode());
+            command.writeArgs(bodyOut);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
+        lastTick = tick;
+        commandCount++;
+    }
+
+    /**
+     * Create a fresh world with the recorded seed and settings
+     */
+    public GameState createWorld() {
+        GameState world = new GameState(waveConfig, seed);
+        world.setGameDuration(gameDuration);
+        world.setLevel(level);
+        world.setTargetLockInterval(targetLockInterval);
+        return world;
+    }
+
+    /**
+     * Start reading the recorded commands from the beginning
+     */
+    public synchronized Playback playback() {
+        return new Playback(body.toByteArray(), commandCount);
+    }
+
+    // Serialization
+    public synchronized void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeDouble(stepSeconds);
+        out.writeDouble(gameDuration);
+        out.writeInt(level);
+        out.writeDouble(targetLockInterval);
+        waveConfig.writeTo(out);
+        out.writeInt(commandCount);
+        out.writeLong(lastTick);
+        body.writeTo(out);
+        out.flush();
+    }
+
+    public static CommandLog readFrom(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a command log");
+        }
+        int version = in.readUnsignedByte();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported command log version: " + version);
+        }
+
+        long seed = in.readLong();
+        double stepSeconds = in.readDouble();
+        double gameDuration = in.readDouble();
+        // Version 1 logs were recorded on level 1 without target lock
+        int level = version >= 2 ? in.readInt() : 1;
+        double targetLockInterval = version >= 2 ? in.readDouble() : 0.0;
+        CommandLog log = new CommandLog(seed, stepSeconds, gameDuration, level, targetLockInterval, WaveConfig.readFrom(in));
+        log.commandCount = in.readInt();
+        log.lastTick = in.readLong();
+
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            log.body.write(buffer, 0, read);
+        }
+        return log;
+    }
+
+    public void save(Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            writeTo(out);
+        }
+    }
+
+    public static CommandLog load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return readFrom(in);
+        }
+    }
+
+    /**
+     * Decode one command written by PlayerCommand.writeArgs
+     */
+    static PlayerCommand readCommand(int opcode, DataInput in) throws IOException {
+        switch (opcode) {
+            case OP_PLACE_TOWER: {
+                TowerType type = TowerType.values()[in.readUnsignedByte()];
+                double x = in.readDouble();
+                double y = in.readDouble();
+                return new PlaceTowerCommand(type, x, y);
+            }
+            case OP_UPGRADE_TOWER:
+                return new UpgradeTowerCommand((int) readVarLong(in));
+            case OP_SELL_TOWER:
+                return new SellTowerCommand((int) readVarLong(in));
+            case OP_SET_LEVEL:
+                return new SetLevelCommand((int) readVarLong(in));
+            default:
+                throw new IOException("Unknown command opcode: " + opcode);
+        }
+    }
+
+    /**
+     * Unsigned LEB128 varint; small values take one byte
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varint must not be negative: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Getters
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public double getGameDuration() {
+        return gameDuration;
+    }
+
+    public WaveConfig getWaveConfig() {
+        return waveConfig;
+    }
+
+    public synchronized int getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Tick of the last recorded command
+     */
+    public synchronized long getLastTick() {
+        return lastTick;
+    }
+
+    /**
+     * Encoded size of the command stream in bytes (header excluded)
+     */
+    public synchronized int getBodySize() {
+        return body.size();
+    }
+
+    /**
+     * Cursor over a command log that applies commands as their tick comes up
+     */
+    public static class Playback {
+        private final DataInputStream in;
+        private int remaining;
+        private long nextTick;
+
+        Playback(byte[] body, int commandCount) {
+            this.in = new DataInputStream(new ByteArrayInputStream(body));
+            this.remaining = commandCount;
+            this.nextTick = 0;
+            readNextTick();
+        }
+
+        /**
+         * Apply every command due before simulation step number tick
+         * @return number of commands applied
+         */
+        public int applyDue(long tick, GameState world) {
+            int applied = 0;
+            while (remaining > 0 && nextTick <= tick) {
+                try {
+                    PlayerCommand command = CommandLog.readCommand(in.readUnsignedByte(), in);
+                    command.execute(world);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Corrupt command log", e);
+                }
+                remaining--;
+                applied++;
+                readNextTick();
+            }
+            return applied;
+        }
+
+        private void readNextTick() {
+            if (remaining == 0) return;
+            try {
+                nextTick += CommandLog.readVarLong(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Corrupt command log", e);
+            }
+        }
+
+        public boolean isFinished() {
+            return remaining == 0;
+        }
+    }
+}
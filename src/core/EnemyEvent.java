@@ -0,0 +1,65 @@
+package core;
+
+/**
+ * An enemy spawned, was killed or reached the house
+ * GameState reuses one instance for ENEMY_SPAWNED, the most frequent of these: a listener must
+ * copy what it needs during onEvent rather than keep the event
+ */
+public class EnemyEvent extends GameEvent {
+    private int enemyId;
+    private EnemyType enemyType;
+    private int reward;
+    private double x;
+    private double y;
+    
+    public EnemyEvent(EventType type) {
+        super(type);
+    }
+    
+    EnemyEvent set(int enemyId, EnemyType enemyType, int reward, double x, double y) {
+        this.timestamp = System.currentTimeMillis();
+        this.enemyId = enemyId;
+        this.enemyType = enemyType;
+        this.reward = reward;
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    /**
+     * Take over the payload of an event of the same type; used by AsyncEventBus for its preallocated slots
+     */
+    void copyFrom(EnemyEvent other) {
+        this.timestamp = other.timestamp;
+        this.enemyId = other.enemyId;
+        this.enemyType = other.enemyType;
+        this.reward = other.reward;
+        this.x = other.x;
+        this.y = other.y;
+    }
+    
+    public int getEnemyId() {
+        return enemyId;
+    }
+    
+    public EnemyType getEnemyType() {
+        return enemyType;
+    }
+    
+    public int getReward() {
+        return reward;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " enemy=" + enemyId + " type=" + enemyType + " reward=" + reward + " pos=(" + x + "," + y + ")";
+    }
+}
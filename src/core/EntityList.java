@@ -0,0 +1,211 @@
+package core;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Array-backed entity container for one world
+ * While a tick is running (between beginTick and flush) spawns go to a buffer and destroyed
+ * entities stay in place, so iteration never sees the list change; flush then drops the
+ * inactive entities with O(1) swap-removes and appends the spawns. Outside a tick, adds are immediate.
+ * Each entity remembers its index, so the entity reference itself is a stable O(1) handle
+ */
+public class EntityList<T extends GameObject> implements Iterable<T> {
+    private Object[] items;
+    private int size;
+    private final List<T> spawnBuffer;
+    private boolean deferring;
+    private final List<T> view;
+
+    public EntityList() {
+        this.items = new Object[32];
+        this.size = 0;
+        this.spawnBuffer = new ArrayList<>();
+        this.deferring = false;
+        this.view = new View();
+    }
+
+    /**
+     * Add an entity; buffered until flush while a tick is running
+     */
+    public void add(T entity) {
+        if (deferring) {
+            spawnBuffer.add(entity);
+        } else {
+            append(entity);
+        }
+    }
+
+    private void append(T entity) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        entity.listIndex = size;
+        items[size++] = entity;
+    }
+
+    /**
+     * Remove an entity now by swapping the last one into its place
+     * @return false if it was not in this list
+     */
+    public boolean remove(T entity) {
+        int index = indexOf(entity);
+        if (index < 0) {
+            return spawnBuffer.remove(entity);
+        }
+        int last = --size;
+        if (index != last) {
+            @SuppressWarnings("unchecked")
+            T moved = (T) items[last];
+            items[index] = moved;
+            moved.listIndex = index;
+        }
+        items[last] = null;
+        entity.listIndex = -1;
+        return true;
+    }
+
+    /**
+     * Start buffering spawns for the duration of a tick
+     */
+    public void beginTick() {
+        deferring = true;
+    }
+
+    /**
+     * End of tick: drop inactive entities, then apply the buffered spawns
+     * @param onDespawn called for each entity dropped from the list, may be null
+     */
+    public void flush(Consumer<? super T> onDespawn) {
+        deferring = false;
+
+        for (int i = size - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            T entity = (T) items[i];
+            if (!entity.isActive()) {
+                remove(entity);
+                if (onDespawn != null) {
+                    onDespawn.accept(entity);
+                }
+            }
+        }
+
+        for (int i = 0; i < spawnBuffer.size(); i++) {
+            T entity = spawnBuffer.get(i);
+            if (entity.isActive()) {
+                append(entity);
+            } else if (onDespawn != null) {
+                onDespawn.accept(entity);
+            }
+        }
+        spawnBuffer.clear();
+    }
+
+    public boolean contains(T entity) {
+        return indexOf(entity) >= 0;
+    }
+
+    /**
+     * Current index of an entity, or -1; O(1)
+     */
+    public int indexOf(T entity) {
+        return indexOfObject(entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        }
+        return (T) items[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove everything, including buffered spawns
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            ((GameObject) items[i]).listIndex = -1;
+            items[i] = null;
+        }
+        size = 0;
+        spawnBuffer.clear();
+    }
+
+    /**
+     * Copy of the current entities
+     */
+    public List<T> toList() {
+        List<T> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            T entity = (T) items[i];
+            copy.add(entity);
+        }
+        return copy;
+    }
+
+    /**
+     * Read-only live view of the current entities; no copy is made
+     * Stable for the whole tick, since spawns and despawns only land at flush
+     */
+    public List<T> view() {
+        return view;
+    }
+
+    private class View extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            return EntityList.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof GameObject && indexOfObject((GameObject) o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof GameObject ? indexOfObject((GameObject) o) : -1;
+        }
+    }
+
+    private int indexOfObject(GameObject entity) {
+        int index = entity.listIndex;
+        return index >= 0 && index < size && items[index] == entity ? index : -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (T) items[index++];
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package core;
+
+import patterns.factories.TowerFactory;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Benchmark for slow event listeners: synchronous delivery vs the async ring in each backpressure mode
+ * Runs the same seeded match once per mode with a listener that busy-waits on every event it
+ * gets, and reports simulation speed, the worst tick, and what the ring delivered and dropped
+ */
+public class EventBusBenchmark {
+    private static final EventType[] OBSERVED = {
+        EventType.ENEMY_SPAWNED, EventType.ENEMY_KILLED, EventType.ENEMY_REACHED_END, EventType.PROJECTILE_FIRED,
+        EventType.PLAYER_MONEY_CHANGED, EventType.WAVE_STARTED, EventType.WAVE_COMPLETED
+    };
+
+    /**
+     * Benchmark entry point
+     * Usage: java core.EventBusBenchmark [--ticks N] [--listener-micros N] [--capacity N] [--sample-rate N] [--seed N]
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long ticks = 30_000;
+        long listenerMicros = 50;
+        int capacity = 256;
+        int sampleRate = 4;
+        long seed = 7L;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Long.parseLong(args[++i]);
+                    break;
+                case "--listener-micros":
+                    listenerMicros = Long.parseLong(args[++i]);
+                    break;
+                case "--capacity":
+                    capacity = Integer.parseInt(args[++i]);
+                    break;
+                case "--sample-rate":
+                    sampleRate = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java core.EventBusBenchmark [--ticks N] [--listener-micros N] [--capacity N] [--sample-rate N] [--seed N]");
+                    System.exit(2);
+            }
+        }
+
+        // The entities log every action to stdout; keep the table readable
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+        }));
+
+        try {
+            console.println(String.format("Slow listener (%d us per event), %d ticks, ring of %d", listenerMicros, ticks, capacity));
+            console.println(String.format("%-6s | %10s | %12s | %8s | %10s | %9s | %6s | %10s",
+                "mode", "ticks/s", "worst tick ms", "kills", "delivered", "dropped", "peak", "blocked ms"));
+            // Warm up the JIT on a short run so the first row's worst tick is not compilation
+            run(System.out, AsyncEventBus.Backpressure.DROP, Math.min(ticks, 5_000), 0, capacity, sampleRate, seed);
+            run(console, null, ticks, listenerMicros, capacity, sampleRate, seed);
+            for (AsyncEventBus.Backpressure backpressure : AsyncEventBus.Backpressure.values()) {
+                run(console, backpressure, ticks, listenerMicros, capacity, sampleRate, seed);
+            }
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * One match; backpressure null delivers synchronously
+     */
+    private static void run(PrintStream console, AsyncEventBus.Backpressure backpressure, long ticks,
+                            long listenerMicros, int capacity, int sampleRate, long seed) {
+        GameState world = createWorld(seed);
+        GameEventManager events = world.getEventManager();
+        long[] calls = new long[1];
+        long listenerNanos = listenerMicros * 1_000L;
+        GameEventListener slowListener = event -> {
+            calls[0]++;
+            long until = System.nanoTime() + listenerNanos;
+            while (System.nanoTime() < until) {
+                // busy, like a listener doing real work
+            }
+        };
+        if (backpressure != null) {
+            events.setAsyncDelivery(capacity, backpressure, sampleRate);
+        }
+        for (EventType type : OBSERVED) {
+            if (backpressure != null) {
+                events.addAsyncListener(type, slowListener);
+            } else {
+                events.addListener(type, slowListener);
+            }
+        }
+
+        long worstTick = 0;
+        long start = System.nanoTime();
+        for (long tick = 0; tick < ticks && !world.isGameWon() && !world.isGameLost(); tick++) {
+            long tickStart = System.nanoTime();
+            world.update(HeadlessGame.DEFAULT_TIME_STEP);
+            worstTick = Math.max(worstTick, System.nanoTime() - tickStart);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        AsyncEventBus bus = events.getAsyncBus();
+        long dropped = bus != null ? bus.getDropped() : 0;
+        int peak = bus != null ? bus.getPeakDepth() : 0;
+        long blocked = bus != null ? bus.getBlockedNanos() : 0;
+        events.shutdownAsync(); // delivers what is left in the ring
+        console.println(String.format("%-6s | %10.0f | %12.3f | %8d | %10d | %9d | %6d | %10.1f",
+            backpressure != null ? backpressure.name() : "sync", ticks * 1e9 / elapsed, worstTick / 1e6,
+            world.getEnemiesKilled(), calls[0], dropped, peak, blocked / 1e6));
+    }
+
+    /**
+     * Level 2 with a row of mixed towers along each side of the middle path
+     */
+    private static GameState createWorld(long seed) {
+        GameState world = new GameState(new WaveConfig(), seed);
+        world.setGameDuration(100_000);
+        world.setLevel(2);
+        world.addMoney(100_000);
+        TowerFactory factory = new TowerFactory(world);
+        TowerType[] types = TowerType.values();
+        int next = 0;
+        for (int x = 60; x < 740; x += 40) {
+            world.placeTower(factory.createTower(types[next++ % types.length], x, 250));
+            world.placeTower(factory.createTower(types[next++ % types.length], x, 420));
+        }
+        return world;
+    }
+}
@@ -10,6 +10,7 @@ public enum EventType {
     TOWER_PLACED,
     TOWER_UPGRADED,
     TOWER_SOLD,
+    TOWER_DESTROYED,
     WAVE_STARTED,
     WAVE_COMPLETED,
     GAME_OVER,
@@ -0,0 +1,168 @@
+package core;
+
+/**
+ * Fixed-timestep accumulator for the game loop
+ * Converts variable wall-clock frame times into a whole number of fixed simulation steps,
+ * and reports how far the renderer is between the last two steps (interpolation alpha)
+ */
+public class FixedTimestep {
+    public static final double DEFAULT_STEP_SECONDS = 1.0 / 60.0;
+    public static final int DEFAULT_MAX_STEPS_PER_FRAME = 5;
+
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+
+    private long lastFrameNanos;
+    private long accumulatorNanos;
+    private boolean started;
+
+    // Frame pacing metrics
+    private final long targetFrameNanos;
+    private long frameCount;
+    private long totalSteps;
+    private long droppedNanos;
+    private int stepsLastFrame;
+    private long lastFrameDurationNanos;
+    private long maxFrameDurationNanos;
+    private double averageFrameNanos;
+    private double averageJitterNanos;
+
+    public FixedTimestep() {
+        this(DEFAULT_STEP_SECONDS, DEFAULT_MAX_STEPS_PER_FRAME);
+    }
+
+    public FixedTimestep(double stepSeconds, int maxStepsPerFrame) {
+        if (stepSeconds <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + stepSeconds);
+        }
+        if (maxStepsPerFrame < 1) {
+            throw new IllegalArgumentException("Need at least one step per frame: " + maxStepsPerFrame);
+        }
+        this.stepNanos = (long) (stepSeconds * 1_000_000_000L);
+        this.maxStepsPerFrame = maxStepsPerFrame;
+        this.targetFrameNanos = stepNanos;
+    }
+
+    /**
+     * Account for the time since the previous frame
+     * @return number of fixed steps the caller should simulate this frame
+     */
+    public int advance(long nowNanos) {
+        if (!started) {
+            resetClock(nowNanos);
+            started = true;
+            stepsLastFrame = 0;
+            return 0;
+        }
+
+        long frameNanos = nowNanos - lastFrameNanos;
+        lastFrameNanos = nowNanos;
+        recordFrame(frameNanos);
+
+        accumulatorNanos += frameNanos;
+        int steps = (int) Math.min(accumulatorNanos / stepNanos, maxStepsPerFrame);
+        accumulatorNanos -= steps * stepNanos;
+
+        // Spiral-of-death guard: if we are still more than a step behind after
+        // the maximum catch-up, drop the backlog instead of falling further behind
+        if (accumulatorNanos >= stepNanos) {
+            long keep = accumulatorNanos % stepNanos;
+            droppedNanos += accumulatorNanos - keep;
+            accumulatorNanos = keep;
+        }
+
+        stepsLastFrame = steps;
+        totalSteps += steps;
+        return steps;
+    }
+
+    /**
+     * Restart timing from now without simulating the elapsed time (e.g. after a pause)
+     */
+    public void resetClock(long nowNanos) {
+        lastFrameNanos = nowNanos;
+        accumulatorNanos = 0;
+    }
+
+    private void recordFrame(long frameNanos) {
+        frameCount++;
+        lastFrameDurationNanos = frameNanos;
+        maxFrameDurationNanos = Math.max(maxFrameDurationNanos, frameNanos);
+
+        // Exponential moving averages keep the metrics cheap and responsive
+        double jitter = Math.abs(frameNanos - targetFrameNanos);
+        if (frameCount == 1) {
+            averageFrameNanos = frameNanos;
+            averageJitterNanos = jitter;
+        } else {
+            averageFrameNanos += (frameNanos - averageFrameNanos) * 0.05;
+            averageJitterNanos += (jitter - averageJitterNanos) * 0.05;
+        }
+    }
+
+    /**
+     * Fraction of a step accumulated but not yet simulated (0.0 to 1.0)
+     * Renderers blend the previous and current simulated positions by this amount
+     */
+    public double getAlpha() {
+        return (double) accumulatorNanos / stepNanos;
+    }
+
+    public double getStepSeconds() {
+        return stepNanos / 1_000_000_000.0;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+
+    // Metrics
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    public int getStepsLastFrame() {
+        return stepsLastFrame;
+    }
+
+    public double getAverageFrameMillis() {
+        return averageFrameNanos / 1_000_000.0;
+    }
+
+    public double getAverageFps() {
+        return averageFrameNanos > 0 ? 1_000_000_000.0 / averageFrameNanos : 0.0;
+    }
+
+    public double getAverageJitterMillis() {
+        return averageJitterNanos / 1_000_000.0;
+    }
+
+    public double getLastFrameMillis() {
+        return lastFrameDurationNanos / 1_000_000.0;
+    }
+
+    public double getMaxFrameMillis() {
+        return maxFrameDurationNanos / 1_000_000.0;
+    }
+
+    /**
+     * Total simulation time discarded by the spiral-of-death guard
+     */
+    public double getDroppedSeconds() {
+        return droppedNanos / 1_000_000_000.0;
+    }
+
+    public String getMetricsSummary() {
+        return String.format("FPS %.1f | frame %.2f ms (max %.1f) | jitter %.2f ms | steps %d | dropped %.2f s",
+            getAverageFps(), getAverageFrameMillis(), getMaxFrameMillis(),
+            getAverageJitterMillis(), stepsLastFrame, getDroppedSeconds());
+    }
+}
@@ -21,7 +21,7 @@ public class Game {
      */
     private void initialize() {
         // Initialize game state
-        gameState = GameState.getInstance();
+        gameState = new GameState();
         running = false;
         
         System.out.println("Advanced Tower Defense Game");
@@ -44,7 +44,7 @@ public class Game {
         // Create and show game window on EDT
         SwingUtilities.invokeLater(() -> {
             try {
-                gameWindow = new GameWindow();
+                gameWindow = new GameWindow(gameState);
                 gameWindow.setVisible(true);
                 
                 System.out.println("Game started successfully!");
@@ -1,20 +1,18 @@
 package core;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Base game event class
+ * Subclasses carry their payload as primitive fields with typed getters. Entities are referred
+ * to by ID, never by reference, so an event kept by a listener does not keep a dead enemy or a
+ * sold tower reachable; look the entity up in the world if it is needed
  */
 public abstract class GameEvent {
-    protected EventType type;
+    protected final EventType type;
     protected long timestamp;
-    protected Map<String, Object> data;
     
     public GameEvent(EventType type) {
         this.type = type;
         this.timestamp = System.currentTimeMillis();
-        this.data = new HashMap<>();
     }
     
     public EventType getType() {
@@ -24,13 +22,4 @@ public abstract class GameEvent {
     public long getTimestamp() {
         return timestamp;
     }
-    
-    public void setData(String key, Object value) {
-        data.put(key, value);
-    }
-    
-    @SuppressWarnings("unchecked")
-    public <T> T getData(String key) {
-        return (T) data.get(key);
-    }
 }
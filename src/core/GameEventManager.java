@@ -1,7 +1,6 @@
 package core;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -9,11 +8,21 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * Manages game events and notifications using Observer pattern
  */
 public class GameEventManager {
-    private Map<EventType, List<GameEventListener>> listeners;
-    private Queue<GameEvent> eventQueue;
+    // Every type is present from the start and the map is never changed after, so reading it
+    // from any thread is safe; the lists themselves are copy-on-write
+    private final Map<EventType, List<GameEventListener>> listeners;
+    private final Queue<GameEvent> eventQueue;
+    private boolean logEvents; // off by default: building the log line costs more than most listeners
+    private volatile AsyncEventBus asyncBus; // created with the first async listener
+    
+    // Coalesced delivery (see addTickListener); the fold below is only touched on the simulation thread
+    private final List<TickSubscription> tickListeners = new CopyOnWriteArrayList<>();
+    private final int[] tickCounts = new int[EventType.values().length];
+    private long tickFired; // bit per EventType ordinal
+    private int tickMoneyChange;
     
     public GameEventManager() {
-        this.listeners = new ConcurrentHashMap<>();
+        this.listeners = new EnumMap<>(EventType.class);
         this.eventQueue = new ArrayDeque<>();
         
         // Initialize all event types
@@ -36,15 +45,126 @@ public class GameEventManager {
         listeners.get(eventType).remove(listener);
     }
     
+    /**
+     * Send events to the async listeners through a ring of this many slots, handling a full ring
+     * with this backpressure (see AsyncEventBus); call before the first addAsyncListener
+     * Without it the ring has 1024 slots and drops events when full
+     */
+    public synchronized void setAsyncDelivery(int capacity, AsyncEventBus.Backpressure backpressure, int sampleRate) {
+        if (asyncBus != null) {
+            throw new IllegalStateException("Async delivery is already running");
+        }
+        AsyncEventBus bus = new AsyncEventBus(capacity, backpressure, sampleRate);
+        bus.start();
+        asyncBus = bus;
+    }
+    
+    /**
+     * Register a listener that is called on the event thread instead of the simulation thread
+     * For UI, logging and analytics only: the tick does not wait for it, so it sees events
+     * late and, depending on the backpressure, not all of them
+     */
+    public synchronized void addAsyncListener(EventType eventType, GameEventListener listener) {
+        if (asyncBus == null) {
+            setAsyncDelivery(1024, AsyncEventBus.Backpressure.DROP, 1);
+        }
+        asyncBus.addListener(eventType, listener);
+    }
+    
+    public void removeAsyncListener(EventType eventType, GameEventListener listener) {
+        AsyncEventBus bus = asyncBus;
+        if (bus != null) {
+            bus.removeListener(eventType, listener);
+        }
+    }
+    
+    /**
+     * Ring behind the async listeners, for its depth and drop counters; null if there are none
+     */
+    public AsyncEventBus getAsyncBus() {
+        return asyncBus;
+    }
+    
+    /**
+     * Deliver what is still queued to the async listeners and stop the event thread
+     */
+    public synchronized void shutdownAsync() {
+        if (asyncBus != null) {
+            asyncBus.close();
+            asyncBus = null;
+        }
+    }
+    
+    /**
+     * Register a listener that hears about these event types at most once per tick
+     * Instead of every event it gets one TickSummary at the end of each tick in which any of them
+     * fired, so a burst of kills and money changes costs it one call. Meant for UI code that
+     * only needs the latest values; gameplay code should use addListener
+     */
+    public void addTickListener(TickSummaryListener listener, EventType... types) {
+        long mask = 0;
+        for (EventType type : types) {
+            mask |= 1L << type.ordinal();
+        }
+        tickListeners.add(new TickSubscription(listener, mask));
+    }
+    
+    public void removeTickListener(TickSummaryListener listener) {
+        tickListeners.removeIf(subscription -> subscription.listener == listener);
+    }
+    
+    /**
+     * Deliver the summary of the events fired since the last call, then start a new tick
+     * Called by the simulation thread after each step, and after player commands run while paused,
+     * with the world's money and wave at that point (see GameState.endEventTick)
+     */
+    public void endTick(int money, int wave) {
+        if (tickFired == 0) return;
+        TickSummary summary = new TickSummary(tickCounts.clone(), money, tickMoneyChange, wave);
+        long fired = tickFired;
+        Arrays.fill(tickCounts, 0);
+        tickFired = 0;
+        tickMoneyChange = 0;
+        
+        for (TickSubscription subscription : tickListeners) {
+            if ((subscription.mask & fired) == 0) continue;
+            try {
+                subscription.listener.onTick(summary);
+            } catch (Exception e) {
+                System.err.println("Error in tick listener: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Fold an event into the current tick's summary
+     */
+    private void accumulate(GameEvent event) {
+        int ordinal = event.getType().ordinal();
+        tickCounts[ordinal]++;
+        tickFired |= 1L << ordinal;
+        if (event.getType() == EventType.PLAYER_MONEY_CHANGED) {
+            tickMoneyChange += ((MoneyChangedEvent) event).getChange();
+        }
+    }
+    
+    /**
+     * Print every fired and queued event to stdout
+     */
+    public void setLogEvents(boolean logEvents) {
+        this.logEvents = logEvents;
+    }
+    
     /**
      * Fire event immediately
      */
     public void fireEvent(GameEvent event) {
-        // Debug: log all events
-        try {
-            System.out.println("[EVENT][Fire] type=" + event.getType() + " ts=" + event.getTimestamp() +
-                " data=" + event.data);
-        } catch (Exception ignore) {}
+        if (logEvents) {
+            System.out.println("[EVENT][Fire] ts=" + event.getTimestamp() + " " + event);
+        }
+        if (!tickListeners.isEmpty()) {
+            accumulate(event);
+        }
         List<GameEventListener> eventListeners = listeners.get(event.getType());
         for (GameEventListener listener : eventListeners) {
             try {
@@ -53,17 +173,20 @@ public class GameEventManager {
                 System.err.println("Error in event listener: " + e.getMessage());
             }
         }
+        AsyncEventBus bus = asyncBus;
+        if (bus != null && bus.hasListeners(event.getType())) {
+            bus.publish(event);
+        }
     }
     
     /**
      * Queue event for later processing
+     * Events that GameState reuses (see EnemyEvent, ProjectileEvent) must not be queued
      */
     public void queueEvent(GameEvent event) {
-        // Debug: log queued events
-        try {
-            System.out.println("[EVENT][Queue] type=" + event.getType() + " ts=" + event.getTimestamp() +
-                " data=" + event.data);
-        } catch (Exception ignore) {}
+        if (logEvents) {
+            System.out.println("[EVENT][Queue] ts=" + event.getTimestamp() + " " + event);
+        }
         eventQueue.offer(event);
     }
     
@@ -82,8 +205,23 @@ public class GameEventManager {
      */
     public void clear() {
         listeners.values().forEach(List::clear);
+        tickListeners.clear();
+        if (asyncBus != null) {
+            asyncBus.clear();
+        }
         eventQueue.clear();
+        Arrays.fill(tickCounts, 0);
+        tickFired = 0;
+        tickMoneyChange = 0;
+    }
+    
+    private static final class TickSubscription {
+        final TickSummaryListener listener;
+        final long mask;
+        
+        TickSubscription(TickSummaryListener listener, long mask) {
+            this.listener = listener;
+            this.mask = mask;
+        }
     }
 }
-
-
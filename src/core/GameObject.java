@@ -2,6 +2,9 @@ package core;
 
 import utils.Vector2D;
 import java.awt.Graphics2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Abstract base class for all game objects
@@ -9,14 +12,18 @@ import java.awt.Graphics2D;
  */
 public abstract class GameObject {
     protected Vector2D position;
+    protected Vector2D previousPosition; // position before the last update, for render interpolation
     protected boolean active;
     protected int id;
-    private static int nextId = 1;
+    protected final GameState world; // the world this object lives in; IDs are unique per world
+    int listIndex = -1; // slot in the world's EntityList, kept current by the list
     
-    public GameObject(double x, double y) {
+    public GameObject(GameState world, double x, double y) {
+        this.world = world;
         this.position = new Vector2D(x, y);
+        this.previousPosition = new Vector2D(x, y);
         this.active = true;
-        this.id = nextId++;
+        this.id = world.nextEntityId();
     }
     
     /**
@@ -25,6 +32,7 @@ public abstract class GameObject {
      */
     public final void update(double deltaTime) {
         if (active) {
+            previousPosition.set(position.x, position.y);
             updateLogic(deltaTime);
             updateGraphics(deltaTime);
         }
@@ -34,23 +42,80 @@ public abstract class GameObject {
      * Template method for rendering
      */
     public final void render(Graphics2D g2d) {
+        render(g2d, 1.0);
+    }
+    
+    /**
+     * Render blended between the previous and current simulated positions
+     * @param alpha 0.0 = previous update, 1.0 = latest update
+     */
+    public final void render(Graphics2D g2d, double alpha) {
         if (active) {
-            draw(g2d);
+            createSprite().draw(g2d, alpha);
         }
     }
     
     // Abstract methods to be implemented by subclasses
     protected abstract void updateLogic(double deltaTime);
     protected abstract void updateGraphics(double deltaTime);
-    protected abstract void draw(Graphics2D g2d);
+    
+    /**
+     * Capture the current visual state as an immutable sprite
+     */
+    public abstract Sprite createSprite();
+    
+    /**
+     * Write the mutable state for a world snapshot
+     * Subclasses that add state override both methods, call super first and keep the same order
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(id);
+        out.writeBoolean(active);
+        out.writeDouble(position.x);
+        out.writeDouble(position.y);
+        out.writeDouble(previousPosition.x);
+        out.writeDouble(previousPosition.y);
+    }
+    
+    /**
+     * Restore the state written by writeState
+     */
+    public void readState(DataInput in) throws IOException {
+        id = in.readInt();
+        active = in.readBoolean();
+        position = new Vector2D(in.readDouble(), in.readDouble());
+        previousPosition = new Vector2D(in.readDouble(), in.readDouble());
+    }
     
     // Getters and setters
+    /**
+     * Copy of the position; per-tick code should use getX/getY instead
+     */
     public Vector2D getPosition() {
         return new Vector2D(position);
     }
     
+    public double getX() {
+        return position.x;
+    }
+    
+    public double getY() {
+        return position.y;
+    }
+    
+    /**
+     * Squared distance between two objects, no allocation
+     */
+    public double distanceSquaredTo(GameObject other) {
+        double dx = getX() - other.getX();
+        double dy = getY() - other.getY();
+        return dx * dx + dy * dy;
+    }
+    
     public void setPosition(Vector2D position) {
         this.position = new Vector2D(position);
+        // Teleport: do not interpolate from the old position
+        this.previousPosition = new Vector2D(position);
     }
     
     public boolean isActive() {
@@ -65,6 +130,10 @@ public abstract class GameObject {
         return id;
     }
     
+    public GameState getWorld() {
+        return world;
+    }
+    
     /**
      * Called when the object should be destroyed
      */
@@ -72,12 +141,21 @@ public abstract class GameObject {
         this.active = false;
     }
     
+    /**
+     * Bring a pooled object back as a new entity: fresh ID from its world, active again
+     * Only for objects no longer in any entity list
+     */
+    protected void recycle() {
+        this.id = world.nextEntityId();
+        this.active = true;
+    }
+    
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         GameObject that = (GameObject) obj;
-        return id == that.id;
+        return id == that.id && world == that.world;
     }
     
     @Override
@@ -0,0 +1,22 @@
+package core;
+
+/**
+ * The house was destroyed
+ */
+public class GameOverEvent extends GameEvent {
+    private final int score;
+    
+    public GameOverEvent(int score) {
+        super(EventType.GAME_OVER);
+        this.score = score;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " score=" + score;
+    }
+}
@@ -0,0 +1,212 @@
+package core;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs GameState on its own thread with a fixed timestep
+ * Player input arrives through a command queue and the UI reads published snapshots,
+ * so the simulation never shares mutable state with the EDT
+ */
+public class GameSimulation {
+    private final GameState gameState;
+    private final FixedTimestep timestep;
+    private final Queue<PlayerCommand> commandQueue;
+    private final AtomicReference<RenderSnapshot> latestSnapshot;
+    private final WorldSnapshot initialState;
+    private volatile CommandLog commandLog;
+
+    private volatile Thread thread;
+    private volatile boolean running;
+    private volatile boolean paused;
+    private volatile long tick;
+
+    public GameSimulation(GameState gameState) {
+        this.gameState = gameState;
+        this.timestep = new FixedTimestep();
+        this.commandQueue = new ConcurrentLinkedQueue<>();
+        this.latestSnapshot = new AtomicReference<>();
+        this.commandLog = new CommandLog(gameState, timestep.getStepSeconds());
+        this.initialState = WorldSnapshot.capture(gameState);
+        this.tick = 0;
+
+        // Something to draw before the first step
+        publishSnapshot(System.nanoTime());
+    }
+
+    /**
+     * Start the simulation thread
+     */
+    public synchronized void start() {
+        if (running) return;
+
+        running = true;
+        Thread simThread = new Thread(this::run, "game-simulation");
+        simThread.setDaemon(true);
+        thread = simThread;
+        simThread.start();
+    }
+
+    /**
+     * Stop the simulation thread and wait for the current step to finish
+     */
+    public synchronized void stop() {
+        running = false;
+        Thread simThread = thread;
+        thread = null;
+        if (simThread == null || simThread == Thread.currentThread()) return;
+
+        LockSupport.unpark(simThread);
+        try {
+            simThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Put the world back to how it was when this simulation was created
+     * Only call while stopped; the command log starts over with the new match
+     */
+    public synchronized void restart() {
+        if (running) {
+            throw new IllegalStateException("Stop the simulation before restarting it");
+        }
+        commandQueue.clear();
+        initialState.restoreInto(gameState);
+        tick = 0;
+        commandLog = new CommandLog(gameState, timestep.getStepSeconds());
+        timestep.resetClock(System.nanoTime());
+        publishSnapshot(System.nanoTime());
+    }
+    
+    /**
+     * Queue a player action; it runs on the simulation thread before the next step
+     */
+    public void submit(PlayerCommand command) {
+        commandQueue.offer(command);
+    }
+
+    /**
+     * Simulation loop
+     */
+    private void run() {
+        long stepNanos = timestep.getStepNanos();
+        double stepSeconds = timestep.getStepSeconds();
+
+        while (running && thread == Thread.currentThread()) {
+            long now = System.nanoTime();
+            boolean changed;
+
+            if (paused) {
+                // Don't bank paused time as simulation backlog
+                timestep.resetClock(now);
+                changed = drainCommands();
+                if (changed) {
+                    // No step will end this tick, so deliver what the commands changed now
+                    gameState.endEventTick();
+                }
+            } else {
+                int steps = timestep.advance(now);
+                changed = false;
+                for (int i = 0; i < steps; i++) {
+                    drainCommands();
+                    step(stepSeconds);
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                publishSnapshot(System.nanoTime());
+            }
+
+            // Sleep until the next step is due
+            long remaining = stepNanos - (long) (timestep.getAlpha() * stepNanos);
+            LockSupport.parkNanos(Math.max(remaining, 1_000_000L));
+        }
+    }
+
+    /**
+     * Advance the game by one fixed step
+     */
+    private void step(double stepSeconds) {
+        try {
+            gameState.update(stepSeconds);
+        } catch (RuntimeException e) {
+            System.err.println("Error in simulation step: " + e.getMessage());
+            e.printStackTrace();
+        }
+        tick++;
+    }
+
+    /**
+     * Apply all queued player commands
+     * @return true if any command ran
+     */
+    private boolean drainCommands() {
+        boolean any = false;
+        PlayerCommand command;
+        while ((command = commandQueue.poll()) != null) {
+            // Recorded before it runs, so the log replays failed commands too
+            commandLog.record(tick, command);
+            try {
+                command.execute(gameState);
+            } catch (RuntimeException e) {
+                System.err.println("Error in player command: " + e.getMessage());
+                e.printStackTrace();
+            }
+            any = true;
+        }
+        return any;
+    }
+
+    private void publishSnapshot(long nowNanos) {
+        latestSnapshot.set(RenderSnapshot.capture(gameState, tick, nowNanos, timestep.getStepNanos()));
+    }
+
+    /**
+     * Latest published snapshot; safe to call from any thread
+     */
+    public RenderSnapshot getLatestSnapshot() {
+        return latestSnapshot.get();
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Loop pacing metrics; written by the simulation thread
+     */
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
+
+    /**
+     * Every command applied so far, stamped with the step it preceded; safe to save from any thread
+     */
+    public CommandLog getCommandLog() {
+        return commandLog;
+    }
+    
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * The simulated state; only touch it from the simulation thread or while stopped
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+}
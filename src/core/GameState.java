@@ -3,22 +3,47 @@ package core;
 import entities.enemies.*;
 import entities.towers.*;
 import entities.projectiles.*;
+import patterns.factories.EnemyFactory;
+import patterns.factories.TowerFactory;
+import utils.ArcLengthPath;
+import utils.GameRandom;
 import utils.Vector2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
- * Manages the current state of the game
- * Implements Singleton pattern for global access
+ * Manages the state of one game world
+ * Each instance is an independent match; entities hold a reference to the world they belong to
  */
 public class GameState implements GameEventListener {
-    private static GameState instance;
+    // Per-world entity ID allocation
+    private int nextEntityId = 1;
+    
+    // Per-world randomness; the same seed and inputs replay the same match
+    private long seed;
+    private final GameRandom random;
     
     // Game entities
-    private List<Enemy> enemies;
-    private List<Tower> towers;
-    private List<Projectile> projectiles;
+    private EntityList<Enemy> enemies;
+    private EnemyStore enemyStore; // columns for the spawned enemies
+    private final EnemyPool enemyPool = new EnemyPool();
+    private final Consumer<Enemy> releaseEnemy = enemy -> { // built once, not per tick
+        enemyStore.release(enemy);
+        enemyPool.release(enemy);
+    };
+    private final ProjectilePool projectilePool = new ProjectilePool(this);
+    private final Consumer<Projectile> releaseProjectile = projectilePool::release;
+    private EntityList<Tower> towers;
+    private final TowerIndex towerIndex = new TowerIndex(); // rebuilt only when towers change
+    private final TargetingStats targetingStats = new TargetingStats();
+    private PlacementMask terrainMask; // this level's paths and house, no towers
+    private PlacementMask placementMask; // terrain plus the standing towers
+    private EntityList<Projectile> projectiles;
     private List<List<Vector2D>> enemyPaths;
+    private List<ArcLengthPath> compiledEnemyPaths; // same paths, compiled once per level and shared by all enemies
     private House house;
     
     // Game statistics
@@ -29,7 +54,7 @@ public class GameState implements GameEventListener {
     
     // Game timer
     private double gameTime;
-    private final double GAME_DURATION = 30.0; // 30 seconds
+    private double gameDuration = 30.0; // 30 seconds by default
     private boolean gameWon;
     private boolean gameLost;
     
@@ -43,29 +68,44 @@ public class GameState implements GameEventListener {
     //private final int STARTING_HEALTH = 20;
     private final int STARTING_MONEY = 200;
     private int currentLevel = 1;
+    private double targetLockInterval; // seconds a tower keeps its target; 0 re-targets every shot
     
     // Event system
     private GameEventManager eventManager;
+    // Reused for the two most frequent events; listeners must not keep them (see EnemyEvent, ProjectileEvent)
+    private final EnemyEvent spawnedEvent = new EnemyEvent(EventType.ENEMY_SPAWNED);
+    private final ProjectileEvent firedEvent = new ProjectileEvent(EventType.PROJECTILE_FIRED);
     
-    private GameState() {
-        initializeGame();
+    public GameState() {
+        this(new WaveConfig());
     }
     
-    public static GameState getInstance() {
-        if (instance == null) {
-            instance = new GameState();
-        }
-        return instance;
+    public GameState(WaveConfig waveConfig) {
+        this(waveConfig, new SplittableRandom().nextLong());
+    }
+    
+    public GameState(WaveConfig waveConfig, long seed) {
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        initializeGame(waveConfig);
+    }
+    
+    /**
+     * Allocate the next entity ID in this world
+     */
+    public int nextEntityId() {
+        return nextEntityId++;
     }
     
     /**
      * Initialize the game state
      */
-    private void initializeGame() {
+    private void initializeGame(WaveConfig waveConfig) {
         // Initialize collections
-        enemies = new CopyOnWriteArrayList<>();
-        towers = new CopyOnWriteArrayList<>();
-        projectiles = new CopyOnWriteArrayList<>();
+        enemies = new EntityList<>();
+        enemyStore = new EnemyStore();
+        towers = new EntityList<>();
+        projectiles = new EntityList<>();
         
         // Initialize game stats
         playerMoney = STARTING_MONEY;
@@ -82,11 +122,14 @@ public class GameState implements GameEventListener {
         
         // Initialize systems
         eventManager = new GameEventManager();
-        waveManager = new WaveManager();
+        waveManager = new WaveManager(this, waveConfig);
         
         // Register for events
         eventManager.addListener(EventType.ENEMY_KILLED, this);
         eventManager.addListener(EventType.ENEMY_REACHED_END, this);
+        eventManager.addListener(EventType.TOWER_PLACED, this);
+        eventManager.addListener(EventType.TOWER_SOLD, this);
+        eventManager.addListener(EventType.TOWER_DESTROYED, this);
         
         // Create default paths for current level
         createPathsForLevel(currentLevel);
@@ -170,6 +213,11 @@ public class GameState implements GameEventListener {
                 break;
             }
         }
+        
+        compiledEnemyPaths = new ArrayList<>(enemyPaths.size());
+        for (List<Vector2D> path : enemyPaths) {
+            compiledEnemyPaths.add(ArcLengthPath.of(path));
+        }
     }
     
     /**
@@ -179,23 +227,36 @@ public class GameState implements GameEventListener {
         // Place house at end of the first path
         List<Vector2D> firstPath = enemyPaths.get(0);
         Vector2D endPoint = firstPath.get(firstPath.size() - 1);
-        house = new House(endPoint.x, endPoint.y);
+        house = new House(this, endPoint.x, endPoint.y);
         System.out.println("House created at: " + endPoint.x + ", " + endPoint.y);
+        
+        // The house closes off the level's terrain; rasterize it for placement checks
+        terrainMask = PlacementMask.forLevel(enemyPaths, house);
+        placementMask = terrainMask.withTowers(towers.view());
     }
     
     /**
      * Update the game state
      */
     public void update(double deltaTime) {
-        if (gameWon || gameLost) return;
+        if (gameWon || gameLost) {
+            endEventTick();
+            return;
+        }
         
         // Update game timer
         gameTime += deltaTime;
-        if (gameTime >= GAME_DURATION) {
+        if (gameTime >= gameDuration) {
             gameWon = true;
+            endEventTick();
             return;
         }
         
+        // Spawns and despawns during the tick are buffered until cleanup
+        enemies.beginTick();
+        towers.beginTick();
+        projectiles.beginTick();
+        
         // Update all entities
         updateEnemies(deltaTime);
         updateTowers(deltaTime);
@@ -213,12 +274,25 @@ public class GameState implements GameEventListener {
         
         // Check win/lose conditions
         checkGameEndConditions();
+        
+        // One delivery for this tick's events to tick listeners
+        endEventTick();
+    }
+    
+    /**
+     * Deliver this tick's summary to tick listeners, with money and wave as they are now
+     */
+    void endEventTick() {
+        eventManager.endTick(playerMoney, currentWave);
     }
     
     /**
      * Update all enemies
      */
     private void updateEnemies(double deltaTime) {
+        // Movement and status effects for all enemies in one pass over the columns
+        enemyStore.advance(deltaTime);
+        
         for (Enemy enemy : enemies) {
             if (enemy.isActive()) {
                 enemy.update(deltaTime);
@@ -304,7 +378,7 @@ public class GameState implements GameEventListener {
         waveManager.startWave(currentWave);
         
         // Fire wave started event
-        GameEvent event = new WaveStartedEvent(currentWave);
+        GameEvent event = new WaveEvent(EventType.WAVE_STARTED, currentWave);
         eventManager.fireEvent(event);
     }
     
@@ -319,7 +393,7 @@ public class GameState implements GameEventListener {
         addMoney(bonus);
         
         // Fire wave completed event
-        GameEvent event = new WaveCompletedEvent(currentWave);
+        GameEvent event = new WaveEvent(EventType.WAVE_COMPLETED, currentWave);
         eventManager.fireEvent(event);
     }
     
@@ -328,14 +402,14 @@ public class GameState implements GameEventListener {
      */
     public void spawnEnemy(Enemy enemy) {
         // Assign a random path among available ones
-        List<Vector2D> path = enemyPaths.get(new Random().nextInt(enemyPaths.size()));
-        enemy.setPath(new ArrayList<>(path));
+        ArcLengthPath path = compiledEnemyPaths.get(random.nextInt(compiledEnemyPaths.size()));
+        enemyStore.attach(enemy);
+        enemy.setPath(path);
         enemies.add(enemy);
         System.out.println("Enemy spawned at: " + enemy.getPosition().x + ", " + enemy.getPosition().y);
         
         // Fire enemy spawned event
-        GameEvent event = new EnemySpawnedEvent(enemy);
-        eventManager.fireEvent(event);
+        eventManager.fireEvent(spawnedEvent.set(enemy.getId(), enemy.getType(), enemy.getReward(), enemy.getX(), enemy.getY()));
     }
     
     /**
@@ -346,13 +420,14 @@ public class GameState implements GameEventListener {
         if (isValidTowerPosition(tower.getPosition())) {
             // Check if player has enough money
             if (playerMoney >= tower.getBaseCost()) {
+                tower.updateCoverage();
                 towers.add(tower);
                 subtractMoney(tower.getBaseCost());
                 System.out.println("[PLACE][Tower] id=" + tower.getId() + " type=" + tower.getClass().getSimpleName() +
                     " pos=(" + tower.getPosition().x + "," + tower.getPosition().y + ") cost=" + tower.getBaseCost());
                 
                 // Fire tower placed event
-                GameEvent event = new TowerPlacedEvent(tower);
+                GameEvent event = towerEvent(EventType.TOWER_PLACED, tower, 0);
                 eventManager.fireEvent(event);
                 
                 return true;
@@ -362,28 +437,83 @@ public class GameState implements GameEventListener {
     }
     
     /**
-     * Check if tower position is valid
+     * Find an active enemy by id
      */
-    private boolean isValidTowerPosition(Vector2D position) {
-        // Check distance from all paths
-        for (List<Vector2D> path : enemyPaths) {
-            for (Vector2D pathPoint : path) {
-                if (position.distanceTo(pathPoint) < 30) {
-                    return false;
-                }
+    public Enemy findEnemy(int enemyId) {
+        for (Enemy enemy : enemies) {
+            if (enemy.getId() == enemyId && enemy.isActive()) {
+                return enemy;
             }
         }
-        
-        // Check distance from other towers
+        return null;
+    }
+    
+    /**
+     * Find an active tower by id
+     */
+    public Tower findTower(int towerId) {
         for (Tower tower : towers) {
-            if (position.distanceTo(tower.getPosition()) < 35) {
-                return false;
+            if (tower.getId() == towerId && tower.isActive()) {
+                return tower;
             }
         }
+        return null;
+    }
+    
+    /**
+     * Upgrade a tower if it can be upgraded and the player can afford it
+     */
+    public boolean upgradeTower(int towerId) {
+        Tower tower = findTower(towerId);
+        if (tower == null || !tower.canUpgrade()) {
+            return false;
+        }
+        
+        int cost = tower.getUpgradeCost();
+        if (playerMoney < cost) {
+            return false;
+        }
+        
+        subtractMoney(cost);
+        tower.upgrade();
         
+        GameEvent event = towerEvent(EventType.TOWER_UPGRADED, tower, 0);
+        eventManager.fireEvent(event);
         return true;
     }
     
+    /**
+     * Sell a tower for its sell value
+     */
+    public boolean sellTower(int towerId) {
+        Tower tower = findTower(towerId);
+        if (tower == null) {
+            return false;
+        }
+        
+        int sellValue = tower.getSellValue();
+        addMoney(sellValue);
+        tower.destroy();
+        
+        GameEvent event = towerEvent(EventType.TOWER_SOLD, tower, sellValue);
+        eventManager.fireEvent(event);
+        return true;
+    }
+    
+    /**
+     * Check if tower position is valid (not near a path or the house, not crowding another tower)
+     */
+    private boolean isValidTowerPosition(Vector2D position) {
+        return placementMask.isValid(position.x, position.y);
+    }
+    
+    /**
+     * Current placement mask; immutable, so it can be handed to other threads
+     */
+    public PlacementMask getPlacementMask() {
+        return placementMask;
+    }
+    
     /**
      * Fire a projectile
      */
@@ -391,7 +521,20 @@ public class GameState implements GameEventListener {
         projectiles.add(projectile);
         
         // Fire projectile fired event
-        GameEvent event = new ProjectileFiredEvent(projectile);
+        Enemy target = projectile.getTarget();
+        eventManager.fireEvent(firedEvent.set(projectile.getId(), target != null ? target.getId() : 0,
+            projectile.getDamage(), projectile.getX(), projectile.getY()));
+    }
+    
+    private static TowerEvent towerEvent(EventType type, Tower tower, int amount) {
+        return new TowerEvent(type, tower.getId(), tower.getTowerType(), tower.getX(), tower.getY(), tower.getLevel(), amount);
+    }
+    
+    /**
+     * Called by a tower whose health ran out
+     */
+    public void towerDestroyed(Tower tower) {
+        GameEvent event = towerEvent(EventType.TOWER_DESTROYED, tower, 0);
         eventManager.fireEvent(event);
     }
     
@@ -404,7 +547,8 @@ public class GameState implements GameEventListener {
         score += enemy.getReward() * 10;
         
         // Fire enemy killed event
-        GameEvent event = new EnemyKilledEvent(enemy);
+        GameEvent event = new EnemyEvent(EventType.ENEMY_KILLED)
+            .set(enemy.getId(), enemy.getType(), enemy.getReward(), enemy.getX(), enemy.getY());
         eventManager.fireEvent(event);
         
         enemy.destroy();
@@ -418,7 +562,8 @@ public class GameState implements GameEventListener {
         house.takeDamage(enemy.getDamage());
         
         // Fire enemy reached end event
-        GameEvent event = new EnemyReachedEndEvent(enemy);
+        GameEvent event = new EnemyEvent(EventType.ENEMY_REACHED_END)
+            .set(enemy.getId(), enemy.getType(), enemy.getReward(), enemy.getX(), enemy.getY());
         eventManager.fireEvent(event);
         
         enemy.destroy();
@@ -457,9 +602,14 @@ public class GameState implements GameEventListener {
      * Clean up destroyed entities
      */
     private void cleanupEntities() {
-        enemies.removeIf(enemy -> !enemy.isActive());
-        towers.removeIf(tower -> !tower.isActive());
-        projectiles.removeIf(projectile -> !projectile.isActive());
+        enemies.flush(releaseEnemy);
+        int towerCount = towers.size();
+        towers.flush(null);
+        if (towers.size() != towerCount) {
+            // Swap-removes reorder the list, and the index breaks ties by list order
+            towerIndex.invalidate();
+        }
+        projectiles.flush(releaseProjectile);
     }
     
     /**
@@ -467,22 +617,23 @@ public class GameState implements GameEventListener {
      */
     public void addMoney(int amount) {
         playerMoney += amount;
-        fireMoneyChangedEvent();
+        fireMoneyChangedEvent(amount);
     }
     
     /**
      * Subtract money from player
      */
     public void subtractMoney(int amount) {
+        int before = playerMoney;
         playerMoney = Math.max(0, playerMoney - amount);
-        fireMoneyChangedEvent();
+        fireMoneyChangedEvent(playerMoney - before);
     }
     
     /**
      * Fire money changed event
      */
-    private void fireMoneyChangedEvent() {
-        GameEvent event = new PlayerMoneyChangedEvent(playerMoney);
+    private void fireMoneyChangedEvent(int change) {
+        GameEvent event = new MoneyChangedEvent(playerMoney, change);
         eventManager.fireEvent(event);
     }
     
@@ -496,14 +647,22 @@ public class GameState implements GameEventListener {
             case ENEMY_REACHED_END:
                 // Already handled in enemyReachedEnd method
                 break;
-            case GAME_OVER:
+            case TOWER_PLACED:
+                towerIndex.invalidate();
+                TowerEvent placed = (TowerEvent) event;
+                placementMask = placementMask.withTower(placed.getTowerId(), placed.getX(), placed.getY());
+                break;
             case TOWER_SOLD:
+            case TOWER_DESTROYED:
+                towerIndex.invalidate();
+                placementMask = placementMask.withoutTower(((TowerEvent) event).getTowerId());
+                break;
+            case GAME_OVER:
             case PROJECTILE_FIRED:
             case WAVE_STARTED:
             case PROJECTILE_HIT:
             case TOWER_UPGRADED:
             case PLAYER_MONEY_CHANGED:
-            case TOWER_PLACED:
             case ENEMY_SPAWNED:
             case PLAYER_HEALTH_CHANGED:
             case WAVE_COMPLETED:
@@ -512,17 +671,227 @@ public class GameState implements GameEventListener {
         }
     }
     
+    // Snapshot support (see WorldSnapshot)
+    
+    /**
+     * Write the whole world: settings, stats, entities, wave progress and random streams
+     * Listeners are not part of the state
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeLong(seed);
+        out.writeInt(currentLevel);
+        waveManager.getConfig().writeTo(out);
+        
+        out.writeInt(playerMoney);
+        out.writeInt(currentWave);
+        out.writeInt(enemiesKilled);
+        out.writeInt(score);
+        out.writeDouble(gameTime);
+        out.writeDouble(gameDuration);
+        out.writeDouble(targetLockInterval);
+        out.writeBoolean(gameWon);
+        out.writeBoolean(gameLost);
+        out.writeBoolean(waveInProgress);
+        out.writeDouble(timeSinceWaveEnd);
+        
+        house.writeState(out);
+        
+        out.writeInt(towers.size());
+        for (Tower tower : towers) {
+            out.writeByte(tower.getTowerType().ordinal());
+            tower.writeState(out);
+        }
+        
+        out.writeInt(enemies.size());
+        for (Enemy enemy : enemies) {
+            writeEnemy(out, enemy);
+        }
+        // Store slot order decides tie-breaks in range scans, so keep it too
+        out.writeInt(enemyStore.size());
+        for (int slot = 0; slot < enemyStore.size(); slot++) {
+            out.writeInt(enemies.indexOf(enemyStore.get(slot)));
+        }
+        
+        waveManager.writeState(out);
+        
+        // Projectiles after enemies so their targets resolve on restore
+        out.writeInt(projectiles.size());
+        for (Projectile projectile : projectiles) {
+            if (!(projectile instanceof ArrowProjectile)) {
+                throw new IllegalStateException("Cannot snapshot projectile type " + projectile.getClass().getSimpleName());
+            }
+            projectile.writeState(out);
+        }
+        
+        random.writeState(out);
+        out.writeInt(nextEntityId);
+    }
+    
+    /**
+     * Replace this world's state with one written by writeState
+     */
+    void readState(DataInput in) throws IOException {
+        seed = in.readLong();
+        currentLevel = in.readInt();
+        createPathsForLevel(currentLevel);
+        WaveConfig waveConfig = WaveConfig.readFrom(in);
+        
+        playerMoney = in.readInt();
+        currentWave = in.readInt();
+        enemiesKilled = in.readInt();
+        score = in.readInt();
+        gameTime = in.readDouble();
+        gameDuration = in.readDouble();
+        targetLockInterval = in.readDouble();
+        gameWon = in.readBoolean();
+        gameLost = in.readBoolean();
+        waveInProgress = in.readBoolean();
+        timeSinceWaveEnd = in.readDouble();
+        
+        createHouse();
+        house.readState(in);
+        
+        TowerFactory towerFactory = new TowerFactory(this);
+        List<Tower> restoredTowers = new ArrayList<>();
+        int towerCount = in.readInt();
+        for (int i = 0; i < towerCount; i++) {
+            Tower tower = towerFactory.createTower(TowerType.values()[in.readUnsignedByte()], 0, 0);
+            tower.readState(in);
+            restoredTowers.add(tower);
+        }
+        towers.clear();
+        for (int i = 0; i < restoredTowers.size(); i++) {
+            towers.add(restoredTowers.get(i));
+        }
+        towerIndex.invalidate();
+        placementMask = terrainMask.withTowers(towers.view());
+        
+        // Park the current enemies so the restored ones can reuse them
+        enemyStore.clear();
+        for (Enemy enemy : enemies) {
+            enemyPool.release(enemy);
+        }
+        waveManager.releaseQueuedEnemies();
+        List<Enemy> restoredEnemies = new ArrayList<>();
+        int enemyCount = in.readInt();
+        for (int i = 0; i < enemyCount; i++) {
+            restoredEnemies.add(readEnemy(in));
+        }
+        int attachedCount = in.readInt();
+        for (int slot = 0; slot < attachedCount; slot++) {
+            enemyStore.attach(restoredEnemies.get(in.readInt()));
+        }
+        enemies.clear();
+        for (int i = 0; i < restoredEnemies.size(); i++) {
+            enemies.add(restoredEnemies.get(i));
+        }
+        
+        waveManager = new WaveManager(this, waveConfig);
+        waveManager.readState(in);
+        
+        // Park the current projectiles so the restored ones can reuse them
+        for (Projectile projectile : projectiles) {
+            projectilePool.release(projectile);
+        }
+        List<Projectile> restoredProjectiles = new ArrayList<>();
+        int projectileCount = in.readInt();
+        for (int i = 0; i < projectileCount; i++) {
+            Projectile projectile = projectilePool.acquire(ArrowProjectile.class, ArrowProjectile::new);
+            projectile.readState(in);
+            restoredProjectiles.add(projectile);
+        }
+        projectiles.clear();
+        for (int i = 0; i < restoredProjectiles.size(); i++) {
+            projectiles.add(restoredProjectiles.get(i));
+        }
+        
+        // Last: restoring entities above allocated throwaway IDs and split the random stream
+        random.readState(in);
+        nextEntityId = in.readInt();
+    }
+    
+    void writeEnemy(DataOutput out, Enemy enemy) throws IOException {
+        out.writeByte(enemy.getType().ordinal());
+        enemy.writeState(out);
+    }
+    
+    Enemy readEnemy(DataInput in) throws IOException {
+        Enemy enemy = new EnemyFactory(this).createEnemy(EnemyType.values()[in.readUnsignedByte()], 0);
+        enemy.readState(in);
+        return enemy;
+    }
+    
     // Getters
+    /**
+     * Copy of the enemies, for UI code that keeps the list; simulation code should use getEnemiesView
+     */
     public List<Enemy> getEnemies() {
-        return new ArrayList<>(enemies);
+        return enemies.toList();
+    }
+    
+    /**
+     * Read-only live view of the enemies, no copy
+     */
+    public List<Enemy> getEnemiesView() {
+        return enemies.view();
+    }
+    
+    /**
+     * Column storage behind the spawned enemies
+     */
+    public EnemyStore getEnemyStore() {
+        return enemyStore;
+    }
+    
+    /**
+     * Spatial index of the standing towers, brought up to date if towers changed
+     */
+    public TowerIndex getTowerIndex() {
+        towerIndex.update(towers.view());
+        return towerIndex;
     }
     
     public List<Tower> getTowers() {
-        return new ArrayList<>(towers);
+        return towers.toList();
+    }
+    
+    /**
+     * Read-only live view of the towers, no copy
+     */
+    public List<Tower> getTowersView() {
+        return towers.view();
+    }
+    
+    /**
+     * Recycler for this world's enemies, used by EnemyFactory
+     */
+    public EnemyPool getEnemyPool() {
+        return enemyPool;
+    }
+    
+    /**
+     * How the towers picked their targets: scans run and scans saved by target locks
+     */
+    public TargetingStats getTargetingStats() {
+        return targetingStats;
+    }
+    
+    /**
+     * Recycler for this world's projectiles
+     */
+    public ProjectilePool getProjectilePool() {
+        return projectilePool;
     }
     
     public List<Projectile> getProjectiles() {
-        return new ArrayList<>(projectiles);
+        return projectiles.toList();
+    }
+    
+    /**
+     * Read-only live view of the projectiles, no copy
+     */
+    public List<Projectile> getProjectilesView() {
+        return projectiles.view();
     }
     
     public List<Vector2D> getEnemyPath() {
@@ -538,10 +907,47 @@ public class GameState implements GameEventListener {
         return copy;
     }
 
+    /**
+     * Copy of one of this level's paths
+     */
+    public List<Vector2D> getEnemyPath(int index) {
+        return new ArrayList<>(enemyPaths.get(index));
+    }
+    
+    public int getEnemyPathCount() {
+        return compiledEnemyPaths.size();
+    }
+    
+    /**
+     * One of this level's compiled paths; shared, not a copy
+     */
+    public ArcLengthPath getCompiledEnemyPath(int index) {
+        return compiledEnemyPaths.get(index);
+    }
+    
+    /**
+     * Index of the level path with the same waypoints, or -1
+     */
+    public int indexOfEnemyPath(ArcLengthPath path) {
+        for (int i = 0; i < compiledEnemyPaths.size(); i++) {
+            if (compiledEnemyPaths.get(i) == path || compiledEnemyPaths.get(i).samePoints(path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
     public void setLevel(int level) {
         this.currentLevel = Math.max(1, Math.min(3, level));
         createPathsForLevel(this.currentLevel);
         createHouse();
+        for (Tower tower : towers) {
+            tower.updateCoverage();
+        }
+    }
+    
+    public int getCurrentLevel() {
+        return currentLevel;
     }
     
     public int getPlayerHealth() {
@@ -577,7 +983,30 @@ public class GameState implements GameEventListener {
     }
     
     public double getGameDuration() {
-        return GAME_DURATION;
+        return gameDuration;
+    }
+    
+    /**
+     * Change how long the player must survive to win
+     */
+    public void setGameDuration(double gameDuration) {
+        this.gameDuration = gameDuration;
+    }
+    
+    public double getTargetLockInterval() {
+        return targetLockInterval;
+    }
+    
+    /**
+     * Let towers keep their target between shots
+     * A tower then re-runs its targeting strategy only when the target dies or leaves range, or
+     * after this many seconds; 0 (the default) re-targets on every shot
+     */
+    public void setTargetLockInterval(double seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Target lock interval must not be negative: " + seconds);
+        }
+        this.targetLockInterval = seconds;
     }
     
     public boolean isGameWon() {
@@ -592,71 +1021,26 @@ public class GameState implements GameEventListener {
         return house;
     }
     
-    public GameEventManager getEventManager() {
-        return eventManager;
-    }
-}
-
-// Event classes
-class EnemySpawnedEvent extends GameEvent {
-    public EnemySpawnedEvent(Enemy enemy) {
-        super(EventType.ENEMY_SPAWNED);
-        setData("enemy", enemy);
-    }
-}
-
-class EnemyKilledEvent extends GameEvent {
-    public EnemyKilledEvent(Enemy enemy) {
-        super(EventType.ENEMY_KILLED);
-        setData("enemy", enemy);
+    public WaveConfig getWaveConfig() {
+        return waveManager.getConfig();
     }
-}
-
-class EnemyReachedEndEvent extends GameEvent {
-    public EnemyReachedEndEvent(Enemy enemy) {
-        super(EventType.ENEMY_REACHED_END);
-        setData("enemy", enemy);
-    }
-}
-
-class TowerPlacedEvent extends GameEvent {
-    public TowerPlacedEvent(Tower tower) {
-        super(EventType.TOWER_PLACED);
-        setData("tower", tower);
-    }
-}
-
-class ProjectileFiredEvent extends GameEvent {
-    public ProjectileFiredEvent(Projectile projectile) {
-        super(EventType.PROJECTILE_FIRED);
-        setData("projectile", projectile);
-    }
-}
-
-class WaveStartedEvent extends GameEvent {
-    public WaveStartedEvent(int waveNumber) {
-        super(EventType.WAVE_STARTED);
-        setData("waveNumber", waveNumber);
-    }
-}
-
-class WaveCompletedEvent extends GameEvent {
-    public WaveCompletedEvent(int waveNumber) {
-        super(EventType.WAVE_COMPLETED);
-        setData("waveNumber", waveNumber);
+    
+    /**
+     * Seed this world's random stream was created from
+     */
+    public long getSeed() {
+        return seed;
     }
-}
-
-class PlayerMoneyChangedEvent extends GameEvent {
-    public PlayerMoneyChangedEvent(int newAmount) {
-        super(EventType.PLAYER_MONEY_CHANGED);
-        setData("amount", newAmount);
+    
+    /**
+     * This world's random stream; all gameplay randomness must come from here
+     * Only use it from the thread that updates the world
+     */
+    public GameRandom getRandom() {
+        return random;
     }
-}
-
-class GameOverEvent extends GameEvent {
-    public GameOverEvent(int finalScore) {
-        super(EventType.GAME_OVER);
-        setData("score", finalScore);
+    
+    public GameEventManager getEventManager() {
+        return eventManager;
     }
 }
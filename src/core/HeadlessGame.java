@@ -0,0 +1,249 @@
+package core;
+
+import entities.enemies.EnemyPool;
+import entities.projectiles.ProjectilePool;
+import entities.towers.TargetingStats;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+
+/**
+ * Headless simulation engine - drives GameState without Swing
+ * Advances the game with a fixed timestep in a tight loop, as fast as the CPU allows
+ */
+public class HeadlessGame {
+    public static final double DEFAULT_TIME_STEP = 1.0 / 60.0;
+
+    private final GameState gameState;
+    private final double timeStep;
+    private CommandLog.Playback playback; // null unless replaying
+
+    // Run statistics
+    private long ticks;
+    private long elapsedNanos;
+    private long allocatedBytes; // heap allocated by the simulating thread, -1 if the JVM cannot tell
+
+    public HeadlessGame() {
+        this(DEFAULT_TIME_STEP);
+    }
+
+    public HeadlessGame(double timeStep) {
+        this(new GameState(), timeStep);
+    }
+
+    /**
+     * Replay a recorded match: same seed, settings and timestep, commands applied at their recorded ticks
+     */
+    public HeadlessGame(CommandLog log) {
+        this(log.createWorld(), log.getStepSeconds());
+        this.playback = log.playback();
+    }
+    
+    public HeadlessGame(GameState gameState, double timeStep) {
+        if (timeStep <= 0) {
+            throw new IllegalArgumentException("Time step must be positive: " + timeStep);
+        }
+        this.gameState = gameState;
+        this.timeStep = timeStep;
+        this.ticks = 0;
+        this.elapsedNanos = 0;
+        this.allocatedBytes = threadAllocatedBytes() < 0 ? -1 : 0;
+    }
+
+    /**
+     * Run the simulation until the game is won or lost, or maxTicks is reached
+     * @return number of ticks simulated by this call
+     */
+    public long run(long maxTicks) {
+        long start = System.nanoTime();
+        long allocatedAtStart = threadAllocatedBytes();
+        long ticksThisRun = 0;
+
+        while (ticksThisRun < maxTicks && !isFinished()) {
+            if (playback != null) {
+                playback.applyDue(ticks + ticksThisRun, gameState);
+            }
+            gameState.update(timeStep);
+            ticksThisRun++;
+        }
+
+        elapsedNanos += System.nanoTime() - start;
+        if (allocatedBytes >= 0) {
+            allocatedBytes += threadAllocatedBytes() - allocatedAtStart;
+        }
+        ticks += ticksThisRun;
+        return ticksThisRun;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM does not track it
+     */
+    private static long threadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if the match has ended
+     */
+    public boolean isFinished() {
+        return gameState.isGameWon() || gameState.isGameLost();
+    }
+
+    /**
+     * Simulation throughput in ticks per wall-clock second
+     */
+    public double getTicksPerSecond() {
+        if (elapsedNanos == 0) return 0.0;
+        return ticks / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Simulated seconds per wall-clock second
+     */
+    public double getSpeedup() {
+        return getTicksPerSecond() * timeStep;
+    }
+
+    /**
+     * Average heap bytes allocated per tick, or -1 if the JVM does not track it
+     * Steady-state movement, homing and range checks allocate nothing; what remains is spawns,
+     * shots and the per-event log strings
+     */
+    public double getAllocatedBytesPerTick() {
+        if (allocatedBytes < 0) return -1;
+        if (ticks == 0) return 0.0;
+        return (double) allocatedBytes / ticks;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Headless entry point
+     * Usage: java core.HeadlessGame [--level N] [--ticks N] [--step SECONDS] [--seed N] [--target-lock SECONDS] [--replay FILE] [--verbose]
+     */
+    public static void main(String[] args) throws IOException {
+        // Never let anything reach for a display
+        System.setProperty("java.awt.headless", "true");
+
+        int level = 1;
+        long maxTicks = Long.MAX_VALUE;
+        double step = DEFAULT_TIME_STEP;
+        Long seed = null;
+        double targetLock = 0.0;
+        String replayFile = null;
+        boolean verbose = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--level":
+                    level = Integer.parseInt(args[++i]);
+                    break;
+                case "--ticks":
+                    maxTicks = Long.parseLong(args[++i]);
+                    break;
+                case "--step":
+                    step = Double.parseDouble(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--target-lock":
+                    targetLock = Double.parseDouble(args[++i]);
+                    break;
+                case "--replay":
+                    replayFile = args[++i];
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java core.HeadlessGame [--level N] [--ticks N] [--step SECONDS] [--seed N] [--target-lock SECONDS] [--replay FILE] [--verbose]");
+                    System.exit(2);
+            }
+        }
+
+        // The entities log every action to stdout; mute it unless asked for
+        PrintStream console = System.out;
+        if (!verbose) {
+            System.setOut(new PrintStream(new OutputStream() {
+                @Override public void write(int b) {}
+                @Override public void write(byte[] b, int off, int len) {}
+            }));
+        }
+
+        // A replay brings its own seed, settings and level
+        CommandLog replay = replayFile != null ? CommandLog.load(Paths.get(replayFile)) : null;
+        
+        HeadlessGame game;
+        try {
+            if (replay != null) {
+                game = new HeadlessGame(replay);
+            } else {
+                GameState world = seed != null ? new GameState(new WaveConfig(), seed) : new GameState();
+                game = new HeadlessGame(world, step);
+                game.getGameState().setLevel(level);
+                game.getGameState().setTargetLockInterval(targetLock);
+            }
+            game.getGameState().getEventManager().setLogEvents(verbose);
+            game.run(maxTicks);
+        } finally {
+            System.setOut(console);
+        }
+
+        GameState state = game.getGameState();
+        console.println("Headless run finished");
+        console.println("=====================");
+        console.println("Result:        " + (state.isGameWon() ? "WON" : state.isGameLost() ? "LOST" : "UNFINISHED"));
+        if (replay != null) {
+            console.println("Replay:        " + replayFile + " (" + replay.getCommandCount() + " commands)");
+        } else {
+            console.println("Level:         " + level);
+        }
+        console.println("Seed:          " + state.getSeed());
+        console.println("Waves:         " + state.getCurrentWave());
+        console.println("Kills:         " + state.getEnemiesKilled());
+        console.println("Score:         " + state.getScore());
+        console.println("House health:  " + state.getPlayerHealth());
+        console.println(String.format("Ticks:         %d (%.1f simulated seconds)", game.getTicks(), state.getGameTime()));
+        console.println(String.format("Wall time:     %.3f ms", game.getElapsedNanos() / 1_000_000.0));
+        console.println(String.format("Ticks/second:  %.0f (%.0fx real time)", game.getTicksPerSecond(), game.getSpeedup()));
+        if (game.getAllocatedBytesPerTick() >= 0) {
+            console.println(String.format("Allocated:     %.0f bytes/tick", game.getAllocatedBytesPerTick()));
+        }
+        ProjectilePool pool = state.getProjectilePool();
+        console.println(String.format("Projectiles:   %d fired, %.1f%% from pool, %d peak in flight",
+            pool.getAcquired(), pool.getHitRate() * 100, pool.getHighWaterMark()));
+        TargetingStats targeting = state.getTargetingStats();
+        console.println(String.format("Targeting:     %d scans (%d found nothing), %d shots on a locked target (%.1f%% of picks), %d locks lost",
+            targeting.getScans(), targeting.getEmptyScans(), targeting.getLockHits(), targeting.getLockHitRate() * 100,
+            targeting.getLockLosses()));
+        EnemyPool enemyPool = state.getEnemyPool();
+        console.println(String.format("Enemies:       %d created, %.1f%% from pool, %d peak alive or queued",
+            enemyPool.getAcquired(), enemyPool.getHitRate() * 100, enemyPool.getHighWaterMark()));
+    }
+}
@@ -2,9 +2,10 @@ package core;
 
 //import core.GameObject;
 //import utils.Vector2D;
-import java.awt.Graphics2D;
-import java.awt.Color;
-import java.awt.Font;
+import utils.Rgb;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * The house that players must protect
@@ -12,14 +13,14 @@ import java.awt.Font;
 public class House extends GameObject {
     private int maxHealth;
     private int currentHealth;
-    private Color color;
+    private int color; // packed RGB, see utils.Rgb
     private int size;
     
-    public House(double x, double y) {
-        super(x, y);
+    public House(GameState world, double x, double y) {
+        super(world, x, y);
         this.maxHealth = 100;
         this.currentHealth = maxHealth;
-        this.color = new Color(139, 69, 19); // Brown house color
+        this.color = Rgb.of(139, 69, 19); // Brown house color
         this.size = 60; // Bigger house
     }
     
@@ -34,47 +35,22 @@ public class House extends GameObject {
     }
     
     @Override
-    protected void draw(Graphics2D g2d) {
-        // Draw house as a brown rectangle
-        g2d.setColor(color);
-        int x = (int) (position.x - size / 2);
-        int y = (int) (position.y - size / 2);
-        g2d.fillRect(x, y, size, size);
-        
-        // Draw border
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(x, y, size, size);
-        
-        // Draw house symbol
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
-        g2d.drawString("H", x + size/2 - 8, y + size/2 + 8);
-        
-        // Draw health bar
-        drawHealthBar(g2d);
+    public Sprite createSprite() {
+        return new HouseSprite(position.x, position.y, size, color, currentHealth, maxHealth);
     }
     
-    /**
-     * Draw health bar above the house
-     */
-    private void drawHealthBar(Graphics2D g2d) {
-        int barWidth = size;
-        int barHeight = 6;
-        int x = (int) (position.x - barWidth / 2);
-        int y = (int) (position.y - size / 2 - barHeight - 5);
-        
-        // Background
-        g2d.setColor(Color.RED);
-        g2d.fillRect(x, y, barWidth, barHeight);
-        
-        // Health
-        g2d.setColor(Color.GREEN);
-        int healthWidth = (int) (barWidth * ((double) currentHealth / maxHealth));
-        g2d.fillRect(x, y, healthWidth, barHeight);
-        
-        // Border
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(x, y, barWidth, barHeight);
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(maxHealth);
+        out.writeInt(currentHealth);
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        maxHealth = in.readInt();
+        currentHealth = in.readInt();
     }
     
     /**
@@ -97,6 +73,10 @@ public class House extends GameObject {
         return currentHealth <= 0;
     }
     
+    public int getSize() {
+        return size;
+    }
+    
     /**
      * Get current health
      */
@@ -0,0 +1,73 @@
+package core;
+
+import java.awt.Graphics2D;
+import java.awt.Color;
+import java.awt.Font;
+
+/**
+ * Immutable render snapshot of the house
+ */
+public final class HouseSprite implements Sprite {
+    private final double x, y;
+    private final int size;
+    private final int color;
+    private final int currentHealth;
+    private final int maxHealth;
+    
+    HouseSprite(double x, double y, int size, int color, int currentHealth, int maxHealth) {
+        this.x = x;
+        this.y = y;
+        this.size = size;
+        this.color = color;
+        this.currentHealth = currentHealth;
+        this.maxHealth = maxHealth;
+    }
+    
+    @Override
+    public void draw(Graphics2D g2d, double alpha) {
+        // Draw house as a brown rectangle
+        g2d.setColor(new Color(color));
+        int left = (int) (x - size / 2);
+        int top = (int) (y - size / 2);
+        g2d.fillRect(left, top, size, size);
+        
+        // Draw border
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(left, top, size, size);
+        
+        // Draw house symbol
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(new Font("Arial", Font.BOLD, 20));
+        g2d.drawString("H", left + size/2 - 8, top + size/2 + 8);
+        
+        // Draw health bar
+        drawHealthBar(g2d);
+    }
+    
+    /**
+     * Draw health bar above the house
+     */
+    private void drawHealthBar(Graphics2D g2d) {
+        int barWidth = size;
+        int barHeight = 6;
+        int left = (int) (x - barWidth / 2);
+        int top = (int) (y - size / 2 - barHeight - 5);
+        
+        // Background
+        g2d.setColor(Color.RED);
+        g2d.fillRect(left, top, barWidth, barHeight);
+        
+        // Health
+        g2d.setColor(Color.GREEN);
+        int healthWidth = (int) (barWidth * ((double) currentHealth / maxHealth));
+        g2d.fillRect(left, top, healthWidth, barHeight);
+        
+        // Border
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(left, top, barWidth, barHeight);
+    }
+    
+    public int getCurrentHealth() {
+        return currentHealth;
+    }
+}
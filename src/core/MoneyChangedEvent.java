@@ -0,0 +1,28 @@
+package core;
+
+/**
+ * The player's money changed
+ */
+public class MoneyChangedEvent extends GameEvent {
+    private final int amount; // balance after the change
+    private final int change; // signed; spending is negative
+    
+    public MoneyChangedEvent(int amount, int change) {
+        super(EventType.PLAYER_MONEY_CHANGED);
+        this.amount = amount;
+        this.change = change;
+    }
+    
+    public int getAmount() {
+        return amount;
+    }
+    
+    public int getChange() {
+        return change;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " amount=" + amount + " change=" + change;
+    }
+}
@@ -0,0 +1,51 @@
+package core;
+
+import entities.towers.Tower;
+import java.io.DataOutput;
+import java.io.IOException;
+import patterns.factories.TowerFactory;
+
+/**
+ * Build a new tower at a position
+ */
+public class PlaceTowerCommand extends PlayerCommand {
+    private final TowerType towerType;
+    private final double x;
+    private final double y;
+    
+    public PlaceTowerCommand(TowerType towerType, double x, double y) {
+        this.towerType = towerType;
+        this.x = x;
+        this.y = y;
+    }
+    
+    @Override
+    protected boolean apply(GameState gameState) {
+        Tower tower = new TowerFactory(gameState).createTower(towerType, x, y);
+        return tower != null && gameState.placeTower(tower);
+    }
+    
+    @Override
+    public int getOpcode() {
+        return CommandLog.OP_PLACE_TOWER;
+    }
+    
+    @Override
+    public void writeArgs(DataOutput out) throws IOException {
+        out.writeByte(towerType.ordinal());
+        out.writeDouble(x);
+        out.writeDouble(y);
+    }
+    
+    public TowerType getTowerType() {
+        return towerType;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+}
@@ -0,0 +1,255 @@
+package core;
+
+import entities.towers.Tower;
+import utils.Vector2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Where a tower may stand, rasterized once per level
+ * Every integer point of the field holds one byte: -1 if the path or the house rules it out,
+ * otherwise how many towers stand too close to it. A tower can go on a point iff the byte is 0,
+ * so checking an integer position (a mouse position, an optimizer's candidate) is one array read.
+ * Other positions fall back to the same geometry, answering exactly as the lattice would.
+ *
+ * Immutable: placing or removing a tower returns a new mask, so a render snapshot can hand the
+ * current one to the UI thread for the placement preview
+ */
+public final class PlacementMask {
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+    public static final double PATH_CLEARANCE = 30.0; // tower center to any point of a path
+    public static final double TOWER_SPACING = 35.0; // tower center to tower center
+    private static final double HOUSE_CLEARANCE = 10.0; // half a tower body, so the two never overlap
+    private static final byte TERRAIN = -1;
+    private static final int STRIDE = WIDTH + 1;
+
+    // Terrain, shared by every mask of a level
+    private final double[][] pathX, pathY;
+    private final double houseX, houseY, houseReach;
+
+    private final byte[] cells; // (WIDTH + 1) x (HEIGHT + 1) points, row-major
+    private final int[] towerIds;
+    private final double[] towerX, towerY;
+
+    private PlacementMask(double[][] pathX, double[][] pathY, double houseX, double houseY, double houseReach,
+                          byte[] cells, int[] towerIds, double[] towerX, double[] towerY) {
+        this.pathX = pathX;
+        this.pathY = pathY;
+        this.houseX = houseX;
+        this.houseY = houseY;
+        this.houseReach = houseReach;
+        this.cells = cells;
+        this.towerIds = towerIds;
+        this.towerX = towerX;
+        this.towerY = towerY;
+    }
+
+    /**
+     * Mask of an empty level: its paths (every segment, not just the waypoints) and the house
+     */
+    public static PlacementMask forLevel(List<List<Vector2D>> paths, House house) {
+        double[][] pathX = new double[paths.size()][];
+        double[][] pathY = new double[paths.size()][];
+        for (int p = 0; p < paths.size(); p++) {
+            List<Vector2D> path = paths.get(p);
+            pathX[p] = new double[path.size()];
+            pathY[p] = new double[path.size()];
+            for (int i = 0; i < path.size(); i++) {
+                pathX[p][i] = path.get(i).x;
+                pathY[p][i] = path.get(i).y;
+            }
+        }
+        double houseReach = house.getSize() / 2.0 + HOUSE_CLEARANCE;
+        PlacementMask mask = new PlacementMask(pathX, pathY, house.getPosition().x, house.getPosition().y, houseReach,
+            new byte[STRIDE * (HEIGHT + 1)], new int[0], new double[0], new double[0]);
+        mask.rasterizeTerrain();
+        return mask;
+    }
+
+    /**
+     * Stamp each path as a capsule and the house as a box; only points near them are visited
+     */
+    private void rasterizeTerrain() {
+        for (int p = 0; p < pathX.length; p++) {
+            double[] x = pathX[p];
+            double[] y = pathY[p];
+            for (int i = 0; i < x.length; i++) {
+                // A one-point path is a single segment of length zero
+                int j = Math.min(i + 1, x.length - 1);
+                if (j == i && x.length > 1) break;
+                int minX = lowerBound(Math.min(x[i], x[j]) - PATH_CLEARANCE, WIDTH);
+                int maxX = upperBound(Math.max(x[i], x[j]) + PATH_CLEARANCE, WIDTH);
+                int minY = lowerBound(Math.min(y[i], y[j]) - PATH_CLEARANCE, HEIGHT);
+                int maxY = upperBound(Math.max(y[i], y[j]) + PATH_CLEARANCE, HEIGHT);
+                for (int py = minY; py <= maxY; py++) {
+                    for (int px = minX; px <= maxX; px++) {
+                        if (segmentDistanceSquared(px, py, x[i], y[i], x[j], y[j]) < PATH_CLEARANCE * PATH_CLEARANCE) {
+                            cells[py * STRIDE + px] = TERRAIN;
+                        }
+                    }
+                }
+            }
+        }
+        int minX = lowerBound(houseX - houseReach, WIDTH);
+        int maxX = upperBound(houseX + houseReach, WIDTH);
+        int minY = lowerBound(houseY - houseReach, HEIGHT);
+        int maxY = upperBound(houseY + houseReach, HEIGHT);
+        for (int py = minY; py <= maxY; py++) {
+            for (int px = minX; px <= maxX; px++) {
+                if (onHouse(px, py)) {
+                    cells[py * STRIDE + px] = TERRAIN;
+                }
+            }
+        }
+    }
+
+    /**
+     * This level's terrain with the given towers standing; inactive or destroyed ones are left out
+     */
+    public PlacementMask withTowers(List<Tower> towers) {
+        PlacementMask mask = this;
+        for (int i = 0; i < towers.size(); i++) {
+            Tower tower = towers.get(i);
+            if (tower.isActive() && !tower.isDestroyed()) {
+                mask = mask.withTower(tower.getId(), tower.getX(), tower.getY());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * This mask plus a tower at (x, y)
+     */
+    public PlacementMask withTower(int towerId, double x, double y) {
+        int n = towerIds.length;
+        int[] ids = Arrays.copyOf(towerIds, n + 1);
+        double[] xs = Arrays.copyOf(towerX, n + 1);
+        double[] ys = Arrays.copyOf(towerY, n + 1);
+        ids[n] = towerId;
+        xs[n] = x;
+        ys[n] = y;
+        byte[] stamped = cells.clone();
+        stampTower(stamped, x, y, 1);
+        return new PlacementMask(pathX, pathY, houseX, houseY, houseReach, stamped, ids, xs, ys);
+    }
+
+    /**
+     * This mask without the given tower; the same mask if it was never stamped
+     */
+    public PlacementMask withoutTower(int towerId) {
+        int index = -1;
+        for (int i = 0; i < towerIds.length; i++) {
+            if (towerIds[i] == towerId) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) return this;
+
+        int n = towerIds.length - 1;
+        int[] ids = new int[n];
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        System.arraycopy(towerIds, 0, ids, 0, index);
+        System.arraycopy(towerIds, index + 1, ids, index, n - index);
+        System.arraycopy(towerX, 0, xs, 0, index);
+        System.arraycopy(towerX, index + 1, xs, index, n - index);
+        System.arraycopy(towerY, 0, ys, 0, index);
+        System.arraycopy(towerY, index + 1, ys, index, n - index);
+        byte[] stamped = cells.clone();
+        stampTower(stamped, towerX[index], towerY[index], -1);
+        return new PlacementMask(pathX, pathY, houseX, houseY, houseReach, stamped, ids, xs, ys);
+    }
+
+    /**
+     * Add (or with -1 remove) one tower's spacing disc; terrain points stay as they are
+     */
+    private static void stampTower(byte[] cells, double x, double y, int delta) {
+        int minX = lowerBound(x - TOWER_SPACING, WIDTH);
+        int maxX = upperBound(x + TOWER_SPACING, WIDTH);
+        int minY = lowerBound(y - TOWER_SPACING, HEIGHT);
+        int maxY = upperBound(y + TOWER_SPACING, HEIGHT);
+        for (int py = minY; py <= maxY; py++) {
+            for (int px = minX; px <= maxX; px++) {
+                int cell = py * STRIDE + px;
+                if (cells[cell] != TERRAIN && tooClose(px, py, x, y)) {
+                    cells[cell] += delta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a tower can stand at (x, y): clear of every path segment, the house and other towers
+     */
+    public boolean isValid(double x, double y) {
+        int px = (int) x;
+        int py = (int) y;
+        if (px == x && py == y && px >= 0 && px <= WIDTH && py >= 0 && py <= HEIGHT) {
+            return cells[py * STRIDE + px] == 0;
+        }
+        return isValidExact(x, y);
+    }
+
+    /**
+     * The rasterized rules evaluated directly, for points off the lattice
+     */
+    private boolean isValidExact(double x, double y) {
+        for (int p = 0; p < pathX.length; p++) {
+            double[] xs = pathX[p];
+            double[] ys = pathY[p];
+            for (int i = 0; i < xs.length; i++) {
+                int j = Math.min(i + 1, xs.length - 1);
+                if (j == i && xs.length > 1) break;
+                if (segmentDistanceSquared(x, y, xs[i], ys[i], xs[j], ys[j]) < PATH_CLEARANCE * PATH_CLEARANCE) {
+                    return false;
+                }
+            }
+        }
+        if (onHouse(x, y)) {
+            return false;
+        }
+        for (int i = 0; i < towerIds.length; i++) {
+            if (tooClose(x, y, towerX[i], towerY[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean onHouse(double x, double y) {
+        return Math.abs(x - houseX) < houseReach && Math.abs(y - houseY) < houseReach;
+    }
+
+    private static boolean tooClose(double x, double y, double towerX, double towerY) {
+        double dx = x - towerX;
+        double dy = y - towerY;
+        return dx * dx + dy * dy < TOWER_SPACING * TOWER_SPACING;
+    }
+
+    /**
+     * Squared distance from (x, y) to the segment a-b
+     */
+    private static double segmentDistanceSquared(double x, double y, double ax, double ay, double bx, double by) {
+        double abx = bx - ax;
+        double aby = by - ay;
+        double lengthSquared = abx * abx + aby * aby;
+        double t = 0.0;
+        if (lengthSquared > 0) {
+            t = ((x - ax) * abx + (y - ay) * aby) / lengthSquared;
+            t = t < 0 ? 0 : t > 1 ? 1 : t;
+        }
+        double dx = ax + abx * t - x;
+        double dy = ay + aby * t - y;
+        return dx * dx + dy * dy;
+    }
+
+    private static int lowerBound(double value, int max) {
+        return (int) Math.max(0, Math.min(max, Math.floor(value)));
+    }
+
+    private static int upperBound(double value, int max) {
+        return (int) Math.max(0, Math.min(max, Math.ceil(value)));
+    }
+}
@@ -0,0 +1,50 @@
+package core;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Player action queued by the UI and applied by the simulation thread
+ * Implements Command pattern so input handlers never mutate GameState directly
+ */
+public abstract class PlayerCommand {
+    private Consumer<Boolean> resultListener;
+    
+    /**
+     * Apply the command and notify the result listener, if any
+     * Called on the simulation thread
+     */
+    public final boolean execute(GameState gameState) {
+        boolean success = apply(gameState);
+        if (resultListener != null) {
+            resultListener.accept(success);
+        }
+        return success;
+    }
+    
+    /**
+     * Perform the action against the game state
+     * @return true if the action took effect
+     */
+    protected abstract boolean apply(GameState gameState);
+    
+    /**
+     * Opcode identifying this command type in a command log
+     */
+    public abstract int getOpcode();
+    
+    /**
+     * Write the command arguments; CommandLog.readCommand reads them back
+     */
+    public abstract void writeArgs(DataOutput out) throws IOException;
+    
+    /**
+     * Register a callback for the outcome
+     * The callback runs on the simulation thread
+     */
+    public PlayerCommand onResult(Consumer<Boolean> listener) {
+        this.resultListener = listener;
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+package core;
+
+/**
+ * A projectile was fired
+ * GameState reuses one instance for every shot: a listener must copy what it needs during
+ * onEvent rather than keep the event
+ */
+public class ProjectileEvent extends GameEvent {
+    private int projectileId;
+    private int targetId; // 0 when fired at a point
+    private int damage;
+    private double x;
+    private double y;
+    
+    public ProjectileEvent(EventType type) {
+        super(type);
+    }
+    
+    ProjectileEvent set(int projectileId, int targetId, int damage, double x, double y) {
+        this.timestamp = System.currentTimeMillis();
+        this.projectileId = projectileId;
+        this.targetId = targetId;
+        this.damage = damage;
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    /**
+     * Take over the payload of an event of the same type; used by AsyncEventBus for its preallocated slots
+     */
+    void copyFrom(ProjectileEvent other) {
+        this.timestamp = other.timestamp;
+        this.projectileId = other.projectileId;
+        this.targetId = other.targetId;
+        this.damage = other.damage;
+        this.x = other.x;
+        this.y = other.y;
+    }
+    
+    public int getProjectileId() {
+        return projectileId;
+    }
+    
+    public int getTargetId() {
+        return targetId;
+    }
+    
+    public int getDamage() {
+        return damage;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " proj=" + projectileId + " target=" + targetId + " dmg=" + damage + " pos=(" + x + "," + y + ")";
+    }
+}
@@ -0,0 +1,146 @@
+package core;
+
+import entities.enemies.Enemy;
+import entities.enemies.EnemyStore;
+import patterns.factories.EnemyFactory;
+import utils.GameRandom;
+import utils.Vector2D;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Micro-benchmark for enemy range queries: grid lookup vs full scan of the store
+ * Scatters N enemies uniformly over the field, then times tower-sized range queries at random
+ * points, checking that both methods return the same enemies
+ */
+public class RangeQueryBenchmark {
+    private static final int[] DEFAULT_SIZES = {100, 1_000, 5_000, 10_000, 50_000};
+    private static final int ROUNDS = 5;
+
+    /**
+     * Benchmark entry point
+     * Usage: java core.RangeQueryBenchmark [--queries N] [--range PIXELS] [--seed N]
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int queries = 2_000;
+        double range = 80.0; // archer range
+        long seed = 1L;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--queries":
+                    queries = Integer.parseInt(args[++i]);
+                    break;
+                case "--range":
+                    range = Double.parseDouble(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java core.RangeQueryBenchmark [--queries N] [--range PIXELS] [--seed N]");
+                    System.exit(2);
+            }
+        }
+
+        // Enemy creation logs to stdout; keep the table readable
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+        }));
+
+        try {
+            console.println(String.format("Range queries: %d per size, radius %.0f px", queries, range));
+            console.println(String.format("%8s | %12s | %12s | %8s | %10s", "enemies", "scan ns/q", "grid ns/q", "speedup", "avg hits"));
+            for (int size : DEFAULT_SIZES) {
+                Row row = measure(size, queries, range, seed);
+                console.println(String.format("%8d | %12.0f | %12.0f | %7.1fx | %10.1f",
+                    size, row.scanNanos, row.gridNanos, row.scanNanos / row.gridNanos, row.averageHits));
+            }
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static Row measure(int enemyCount, int queries, double range, long seed) {
+        GameState world = new GameState(new WaveConfig(), seed);
+        EnemyStore store = world.getEnemyStore();
+        EnemyFactory factory = new EnemyFactory(world);
+        GameRandom random = new GameRandom(seed);
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = factory.createEnemy(EnemyType.BASIC, 1);
+            store.attach(enemy);
+            enemy.setPosition(new Vector2D(random.nextDouble() * 800.0, random.nextDouble() * 600.0));
+        }
+
+        double[] centerX = new double[queries];
+        double[] centerY = new double[queries];
+        for (int q = 0; q < queries; q++) {
+            centerX[q] = random.nextDouble() * 800.0;
+            centerY[q] = random.nextDouble() * 600.0;
+        }
+
+        List<Enemy> scanHits = new ArrayList<>();
+        List<Enemy> gridHits = new ArrayList<>();
+        long totalHits = 0;
+
+        // Warm up both paths and check they agree
+        for (int q = 0; q < queries; q++) {
+            scanHits.clear();
+            gridHits.clear();
+            store.collectInRangeLinear(centerX[q], centerY[q], range, scanHits);
+            store.collectInRange(centerX[q], centerY[q], range, gridHits);
+            if (!sameEnemies(scanHits, gridHits)) {
+                throw new IllegalStateException("Grid and scan disagree at (" + centerX[q] + ", " + centerY[q] + ")");
+            }
+            totalHits += gridHits.size();
+        }
+
+        // Best of a few rounds, to keep JIT and GC noise out of the table
+        long scanNanos = Long.MAX_VALUE;
+        long gridNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                scanHits.clear();
+                store.collectInRangeLinear(centerX[q], centerY[q], range, scanHits);
+            }
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                gridHits.clear();
+                store.collectInRange(centerX[q], centerY[q], range, gridHits);
+            }
+            gridNanos = Math.min(gridNanos, System.nanoTime() - start);
+        }
+
+        return new Row((double) scanNanos / queries, (double) gridNanos / queries, (double) totalHits / queries);
+    }
+
+    /**
+     * Same enemies regardless of order (the grid returns them by cell)
+     */
+    private static boolean sameEnemies(List<Enemy> a, List<Enemy> b) {
+        return a.size() == b.size() && new HashSet<>(a).containsAll(b);
+    }
+
+    private static final class Row {
+        final double scanNanos;
+        final double gridNanos;
+        final double averageHits;
+
+        Row(double scanNanos, double gridNanos, double averageHits) {
+            this.scanNanos = scanNanos;
+            this.gridNanos = gridNanos;
+            this.averageHits = averageHits;
+        }
+    }
+}
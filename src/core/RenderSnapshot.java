@@ -0,0 +1,190 @@
+package core;
+
+import entities.enemies.Enemy;
+import entities.enemies.EnemySprite;
+import entities.projectiles.Projectile;
+import entities.towers.Tower;
+import entities.towers.TowerSprite;
+import utils.Vector2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable picture of the world published by the simulation thread
+ * The UI reads the latest one without locking; nothing in here references live entities
+ */
+public final class RenderSnapshot {
+    private final long tick;
+    private final long capturedNanos;
+    private final long stepNanos;
+    
+    // Sprites
+    private final List<EnemySprite> enemies;
+    private final List<TowerSprite> towers;
+    private final List<Sprite> projectiles;
+    private final HouseSprite house;
+    private final List<List<Vector2D>> enemyPaths;
+    private final PlacementMask placementMask;
+    
+    // Statistics
+    private final int playerMoney;
+    private final int playerHealth;
+    private final int currentWave;
+    private final int enemiesKilled;
+    private final int score;
+    private final boolean waveInProgress;
+    private final double timeUntilNextWave;
+    private final double gameTime;
+    private final double gameDuration;
+    private final boolean gameWon;
+    private final boolean gameLost;
+    
+    private RenderSnapshot(GameState state, long tick, long capturedNanos, long stepNanos) {
+        this.tick = tick;
+        this.capturedNanos = capturedNanos;
+        this.stepNanos = stepNanos;
+        
+        List<EnemySprite> enemySprites = new ArrayList<>();
+        for (Enemy enemy : state.getEnemiesView()) {
+            if (enemy.isActive()) {
+                enemySprites.add((EnemySprite) enemy.createSprite());
+            }
+        }
+        List<TowerSprite> towerSprites = new ArrayList<>();
+        for (Tower tower : state.getTowersView()) {
+            if (tower.isActive()) {
+                towerSprites.add((TowerSprite) tower.createSprite());
+            }
+        }
+        List<Sprite> projectileSprites = new ArrayList<>();
+        for (Projectile projectile : state.getProjectilesView()) {
+            if (projectile.isActive()) {
+                projectileSprites.add(projectile.createSprite());
+            }
+        }
+        this.enemies = Collections.unmodifiableList(enemySprites);
+        this.towers = Collections.unmodifiableList(towerSprites);
+        this.projectiles = Collections.unmodifiableList(projectileSprites);
+        this.house = state.getHouse() != null ? (HouseSprite) state.getHouse().createSprite() : null;
+        this.enemyPaths = Collections.unmodifiableList(state.getEnemyPaths());
+        this.placementMask = state.getPlacementMask();
+        
+        this.playerMoney = state.getPlayerMoney();
+        this.playerHealth = state.getPlayerHealth();
+        this.currentWave = state.getCurrentWave();
+        this.enemiesKilled = state.getEnemiesKilled();
+        this.score = state.getScore();
+        this.waveInProgress = state.isWaveInProgress();
+        this.timeUntilNextWave = state.getTimeUntilNextWave();
+        this.gameTime = state.getGameTime();
+        this.gameDuration = state.getGameDuration();
+        this.gameWon = state.isGameWon();
+        this.gameLost = state.isGameLost();
+    }
+    
+    /**
+     * Capture the current game state
+     * Must be called on the thread that updates the state
+     */
+    public static RenderSnapshot capture(GameState state, long tick, long capturedNanos, long stepNanos) {
+        return new RenderSnapshot(state, tick, capturedNanos, stepNanos);
+    }
+    
+    /**
+     * Interpolation factor for drawing this snapshot at the given time
+     */
+    public double getAlpha(long nowNanos) {
+        if (stepNanos <= 0) return 1.0;
+        double alpha = (double) (nowNanos - capturedNanos) / stepNanos;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+    
+    /**
+     * Find a tower sprite by id
+     */
+    public TowerSprite findTower(int towerId) {
+        for (TowerSprite tower : towers) {
+            if (tower.getId() == towerId) {
+                return tower;
+            }
+        }
+        return null;
+    }
+    
+    // Getters
+    public long getTick() {
+        return tick;
+    }
+    
+    public List<EnemySprite> getEnemies() {
+        return enemies;
+    }
+    
+    public List<TowerSprite> getTowers() {
+        return towers;
+    }
+    
+    public List<Sprite> getProjectiles() {
+        return projectiles;
+    }
+    
+    public HouseSprite getHouse() {
+        return house;
+    }
+    
+    public List<List<Vector2D>> getEnemyPaths() {
+        return enemyPaths;
+    }
+    
+    /**
+     * Whether a tower could be placed at (x, y) as of this snapshot; O(1) for integer positions
+     */
+    public boolean canPlaceTowerAt(double x, double y) {
+        return placementMask.isValid(x, y);
+    }
+    
+    public int getPlayerMoney() {
+        return playerMoney;
+    }
+    
+    public int getPlayerHealth() {
+        return playerHealth;
+    }
+    
+    public int getCurrentWave() {
+        return currentWave;
+    }
+    
+    public int getEnemiesKilled() {
+        return enemiesKilled;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public boolean isWaveInProgress() {
+        return waveInProgress;
+    }
+    
+    public double getTimeUntilNextWave() {
+        return timeUntilNextWave;
+    }
+    
+    public double getGameTime() {
+        return gameTime;
+    }
+    
+    public double getGameDuration() {
+        return gameDuration;
+    }
+    
+    public boolean isGameWon() {
+        return gameWon;
+    }
+    
+    public boolean isGameLost() {
+        return gameLost;
+    }
+}
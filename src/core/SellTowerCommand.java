@@ -0,0 +1,34 @@
+package core;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Sell an existing tower by id
+ */
+public class SellTowerCommand extends PlayerCommand {
+    private final int towerId;
+    
+    public SellTowerCommand(int towerId) {
+        this.towerId = towerId;
+    }
+    
+    @Override
+    protected boolean apply(GameState gameState) {
+        return gameState.sellTower(towerId);
+    }
+    
+    @Override
+    public int getOpcode() {
+        return CommandLog.OP_SELL_TOWER;
+    }
+    
+    @Override
+    public void writeArgs(DataOutput out) throws IOException {
+        CommandLog.writeVarLong(out, towerId);
+    }
+    
+    public int getTowerId() {
+        return towerId;
+    }
+}
@@ -0,0 +1,35 @@
+package core;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Switch the world to a different level layout
+ */
+public class SetLevelCommand extends PlayerCommand {
+    private final int level;
+    
+    public SetLevelCommand(int level) {
+        this.level = level;
+    }
+    
+    @Override
+    protected boolean apply(GameState gameState) {
+        gameState.setLevel(level);
+        return true;
+    }
+    
+    @Override
+    public int getOpcode() {
+        return CommandLog.OP_SET_LEVEL;
+    }
+    
+    @Override
+    public void writeArgs(DataOutput out) throws IOException {
+        CommandLog.writeVarLong(out, level);
+    }
+    
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,15 @@
+package core;
+
+import java.awt.Graphics2D;
+
+/**
+ * Immutable render-side copy of a game object
+ * Captured by the simulation thread and drawn by the UI without touching live entities
+ */
+public interface Sprite {
+    /**
+     * Draw the sprite
+     * @param alpha 0.0 = position before the captured update, 1.0 = position after it
+     */
+    void draw(Graphics2D g2d, double alpha);
+}
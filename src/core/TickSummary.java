@@ -0,0 +1,74 @@
+package core;
+
+/**
+ * What happened during one tick, folded from its events
+ * Counts add up over the tick; money and wave are the world's values when the tick ended. Immutable, so a listener
+ * may hand it to another thread (the EDT) as is
+ */
+public final class TickSummary {
+    private static final EventType[] TYPES = EventType.values();
+
+    private final int[] counts; // by EventType ordinal
+    private final int money;
+    private final int moneyChange;
+    private final int wave;
+
+    TickSummary(int[] counts, int money, int moneyChange, int wave) {
+        this.counts = counts;
+        this.money = money;
+        this.moneyChange = moneyChange;
+        this.wave = wave;
+    }
+
+    /**
+     * How many events of this type fired during the tick
+     */
+    public int getCount(EventType type) {
+        return counts[type.ordinal()];
+    }
+
+    public boolean fired(EventType type) {
+        return counts[type.ordinal()] > 0;
+    }
+
+    /**
+     * Player money when the tick ended
+     */
+    public int getMoney() {
+        return money;
+    }
+
+    /**
+     * Net money change over the tick: rewards and refunds minus spending
+     */
+    public int getMoneyChange() {
+        return moneyChange;
+    }
+
+    public int getKills() {
+        return getCount(EventType.ENEMY_KILLED);
+    }
+
+    public int getLeaks() {
+        return getCount(EventType.ENEMY_REACHED_END);
+    }
+
+    /**
+     * Current wave number when the tick ended, 0 before the first
+     */
+    public int getWave() {
+        return wave;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("tick money=").append(money).append(" change=").append(moneyChange)
+            .append(" wave=").append(wave);
+        for (EventType type : TYPES) {
+            if (counts[type.ordinal()] > 0) {
+                text.append(' ').append(type).append('=').append(counts[type.ordinal()]);
+            }
+        }
+        return text.toString();
+    }
+}
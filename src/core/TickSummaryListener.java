@@ -0,0 +1,9 @@
+package core;
+
+/**
+ * Interface for objects that want at most one notification per tick
+ * See GameEventManager.addTickListener
+ */
+public interface TickSummaryListener {
+    void onTick(TickSummary summary);
+}
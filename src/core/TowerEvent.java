@@ -0,0 +1,53 @@
+package core;
+
+/**
+ * A tower was placed, upgraded, sold or destroyed
+ */
+public class TowerEvent extends GameEvent {
+    private final int towerId;
+    private final TowerType towerType;
+    private final double x;
+    private final double y;
+    private final int level;
+    private final int amount; // money paid back for TOWER_SOLD, 0 otherwise
+    
+    public TowerEvent(EventType type, int towerId, TowerType towerType, double x, double y, int level, int amount) {
+        super(type);
+        this.towerId = towerId;
+        this.towerType = towerType;
+        this.x = x;
+        this.y = y;
+        this.level = level;
+        this.amount = amount;
+    }
+    
+    public int getTowerId() {
+        return towerId;
+    }
+    
+    public TowerType getTowerType() {
+        return towerType;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+    
+    public int getLevel() {
+        return level;
+    }
+    
+    public int getAmount() {
+        return amount;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " tower=" + towerId + " type=" + towerType + " level=" + level + " pos=(" + x + "," + y + ")"
+            + (amount != 0 ? " amount=" + amount : "");
+    }
+}
@@ -0,0 +1,33 @@
+package core;
+
+/**
+ * One entry of a tower layout: what to build and where
+ */
+public class TowerPlacement {
+    private final TowerType towerType;
+    private final double x;
+    private final double y;
+
+    public TowerPlacement(TowerType towerType, double x, double y) {
+        this.towerType = towerType;
+        this.x = x;
+        this.y = y;
+    }
+
+    public TowerType getTowerType() {
+        return towerType;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public String toString() {
+        return towerType + "@(" + (int) x + "," + (int) y + ")";
+    }
+}
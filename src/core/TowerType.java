@@ -0,0 +1,8 @@
+package core;
+
+/**
+ * Tower types enum
+ */
+public enum TowerType {
+    ARCHER, CANNON, LIGHTNING, ICE, POISON
+}
@@ -0,0 +1,34 @@
+package core;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Upgrade an existing tower by id
+ */
+public class UpgradeTowerCommand extends PlayerCommand {
+    private final int towerId;
+    
+    public UpgradeTowerCommand(int towerId) {
+        this.towerId = towerId;
+    }
+    
+    @Override
+    protected boolean apply(GameState gameState) {
+        return gameState.upgradeTower(towerId);
+    }
+    
+    @Override
+    public int getOpcode() {
+        return CommandLog.OP_UPGRADE_TOWER;
+    }
+    
+    @Override
+    public void writeArgs(DataOutput out) throws IOException {
+        CommandLog.writeVarLong(out, towerId);
+    }
+    
+    public int getTowerId() {
+        return towerId;
+    }
+}
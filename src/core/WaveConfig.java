@@ -0,0 +1,127 @@
+package core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Tunable wave generation parameters
+ * The defaults are the shipped game balance; balance sweeps derive variants with the with* methods
+ */
+public class WaveConfig {
+    // Spawn timing
+    private final double baseSpawnInterval; // seconds
+    private final double minSpawnInterval;
+    private final double spawnIntervalStep; // interval reduction per wave
+    
+    // Regular wave type mix (share of the wave's enemy count)
+    private final double basicShare;
+    private final double fastShare;
+    private final double armoredShare;
+    private final double flyingShare;
+    private final double elementalShare;
+    
+    public WaveConfig() {
+        this(1.0, 0.2, 0.05, 0.4, 0.25, 0.15, 0.1, 0.1);
+    }
+    
+    public WaveConfig(double baseSpawnInterval, double minSpawnInterval, double spawnIntervalStep,
+                      double basicShare, double fastShare, double armoredShare,
+                      double flyingShare, double elementalShare) {
+        if (minSpawnInterval <= 0 || baseSpawnInterval < minSpawnInterval) {
+            throw new IllegalArgumentException("Invalid spawn intervals: base=" + baseSpawnInterval +
+                " min=" + minSpawnInterval);
+        }
+        this.baseSpawnInterval = baseSpawnInterval;
+        this.minSpawnInterval = minSpawnInterval;
+        this.spawnIntervalStep = spawnIntervalStep;
+        this.basicShare = basicShare;
+        this.fastShare = fastShare;
+        this.armoredShare = armoredShare;
+        this.flyingShare = flyingShare;
+        this.elementalShare = elementalShare;
+    }
+    
+    /**
+     * Copy with different spawn timing
+     */
+    public WaveConfig withSpawnIntervals(double baseSpawnInterval, double minSpawnInterval) {
+        return new WaveConfig(baseSpawnInterval, minSpawnInterval, spawnIntervalStep,
+            basicShare, fastShare, armoredShare, flyingShare, elementalShare);
+    }
+    
+    /**
+     * Copy with a different regular wave type mix
+     */
+    public WaveConfig withMix(double basicShare, double fastShare, double armoredShare,
+                              double flyingShare, double elementalShare) {
+        return new WaveConfig(baseSpawnInterval, minSpawnInterval, spawnIntervalStep,
+            basicShare, fastShare, armoredShare, flyingShare, elementalShare);
+    }
+    
+    /**
+     * Spawn interval used for a given wave
+     */
+    public double getSpawnInterval(int waveNumber) {
+        return Math.max(minSpawnInterval, baseSpawnInterval - (waveNumber * spawnIntervalStep));
+    }
+    
+    /**
+     * Write all parameters; readFrom restores an identical config
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(baseSpawnInterval);
+        out.writeDouble(minSpawnInterval);
+        out.writeDouble(spawnIntervalStep);
+        out.writeDouble(basicShare);
+        out.writeDouble(fastShare);
+        out.writeDouble(armoredShare);
+        out.writeDouble(flyingShare);
+        out.writeDouble(elementalShare);
+    }
+    
+    public static WaveConfig readFrom(DataInput in) throws IOException {
+        return new WaveConfig(in.readDouble(), in.readDouble(), in.readDouble(),
+            in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble());
+    }
+    
+    // Getters
+    public double getBaseSpawnInterval() {
+        return baseSpawnInterval;
+    }
+    
+    public double getMinSpawnInterval() {
+        return minSpawnInterval;
+    }
+    
+    public double getSpawnIntervalStep() {
+        return spawnIntervalStep;
+    }
+    
+    public double getBasicShare() {
+        return basicShare;
+    }
+    
+    public double getFastShare() {
+        return fastShare;
+    }
+    
+    public double getArmoredShare() {
+        return armoredShare;
+    }
+    
+    public double getFlyingShare() {
+        return flyingShare;
+    }
+    
+    public double getElementalShare() {
+        return elementalShare;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("spawn=%.2f/%.2f mix=%.2f/%.2f/%.2f/%.2f/%.2f",
+            baseSpawnInterval, minSpawnInterval,
+            basicShare, fastShare, armoredShare, flyingShare, elementalShare);
+    }
+}
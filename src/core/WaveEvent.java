@@ -0,0 +1,22 @@
+package core;
+
+/**
+ * A wave started or was completed
+ */
+public class WaveEvent extends GameEvent {
+    private final int waveNumber;
+    
+    public WaveEvent(EventType type, int waveNumber) {
+        super(type);
+        this.waveNumber = waveNumber;
+    }
+    
+    public int getWaveNumber() {
+        return waveNumber;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " wave=" + waveNumber;
+    }
+}
@@ -2,7 +2,11 @@ package core;
 
 import entities.enemies.*;
 import patterns.factories.EnemyFactory;
+import utils.GameRandom;
 //import core.EnemyType;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -10,20 +14,23 @@ import java.util.*;
  * Uses Factory pattern for enemy creation
  */
 public class WaveManager {
+    private final GameState world;
+    private final WaveConfig config;
+    private final GameRandom random;
     private Queue<Enemy> currentWaveEnemies;
     private double timeSinceLastSpawn;
     private double spawnInterval;
     private boolean waveActive;
     private int currentWaveNumber;
     
-    // Wave configuration
-    private final double BASE_SPAWN_INTERVAL = 1.0; // seconds
-    private final double MIN_SPAWN_INTERVAL = 0.2;
-    
-    public WaveManager() {
+    public WaveManager(GameState world, WaveConfig config) {
+        this.world = world;
+        this.config = config;
+        // Own stream, so wave composition doesn't shift when spawn-time draws change
+        this.random = world.getRandom().split();
         this.currentWaveEnemies = new ArrayDeque<>();
         this.timeSinceLastSpawn = 0.0;
-        this.spawnInterval = BASE_SPAWN_INTERVAL;
+        this.spawnInterval = config.getBaseSpawnInterval();
         this.waveActive = false;
         this.currentWaveNumber = 0;
     }
@@ -37,8 +44,7 @@ public class WaveManager {
         this.timeSinceLastSpawn = 0.0;
         
         // Calculate spawn interval for this wave
-        this.spawnInterval = Math.max(MIN_SPAWN_INTERVAL, 
-                                     BASE_SPAWN_INTERVAL - (waveNumber * 0.05));
+        this.spawnInterval = config.getSpawnInterval(waveNumber);
         
         // Generate enemies for this wave
         generateWaveEnemies(waveNumber);
@@ -64,14 +70,14 @@ public class WaveManager {
      */
     private void generateRegularWave(int waveNumber) {
         int totalEnemies = Math.min(30, 8 + waveNumber);
-        EnemyFactory factory = new EnemyFactory();
+        EnemyFactory factory = new EnemyFactory(world);
         
         // Calculate enemy type distribution
-        int basicCount = (int) (totalEnemies * 0.4);
-        int fastCount = (int) (totalEnemies * 0.25);
-        int armoredCount = (int) (totalEnemies * 0.15);
-        int flyingCount = (int) (totalEnemies * 0.1);
-        int elementalCount = (int) (totalEnemies * 0.1);
+        int basicCount = (int) (totalEnemies * config.getBasicShare());
+        int fastCount = (int) (totalEnemies * config.getFastShare());
+        int armoredCount = (int) (totalEnemies * config.getArmoredShare());
+        int flyingCount = (int) (totalEnemies * config.getFlyingShare());
+        int elementalCount = (int) (totalEnemies * config.getElementalShare());
         
         // Adjust counts based on wave number
         if (waveNumber >= 5) {
@@ -110,7 +116,7 @@ public class WaveManager {
         
         // Add elemental enemies
         for (int i = 0; i < elementalCount; i++) {
-            EnemyType elementalType = (Math.random() < 0.5) ? EnemyType.FIRE_ELEMENTAL : EnemyType.ICE_ELEMENTAL;
+            EnemyType elementalType = random.nextBoolean() ? EnemyType.FIRE_ELEMENTAL : EnemyType.ICE_ELEMENTAL;
             waveEnemies.add(factory.createEnemy(elementalType, waveNumber));
         }
         
@@ -122,8 +128,10 @@ public class WaveManager {
             }
         }
         
-        // Shuffle the list for random spawn order
-        Collections.shuffle(waveEnemies);
+        // Shuffle the list for random spawn order (Fisher-Yates on the world's stream)
+        for (int i = waveEnemies.size() - 1; i > 0; i--) {
+            Collections.swap(waveEnemies, i, random.nextInt(i + 1));
+        }
         
         // Add to spawn queue
         currentWaveEnemies.addAll(waveEnemies);
@@ -133,7 +141,7 @@ public class WaveManager {
      * Generate a boss wave
      */
     private void generateBossWave(int waveNumber) {
-        EnemyFactory factory = new EnemyFactory();
+        EnemyFactory factory = new EnemyFactory(world);
         
         // Add boss enemy
         currentWaveEnemies.add(factory.createEnemy(EnemyType.BOSS, waveNumber));
@@ -176,6 +184,16 @@ public class WaveManager {
         return !currentWaveEnemies.isEmpty();
     }
     
+    /**
+     * Hand every queued enemy back to the world's pool, before this manager is replaced
+     */
+    void releaseQueuedEnemies() {
+        for (Enemy enemy : currentWaveEnemies) {
+            world.getEnemyPool().release(enemy);
+        }
+        currentWaveEnemies.clear();
+    }
+    
     /**
      * End the current wave
      */
@@ -197,7 +215,39 @@ public class WaveManager {
         }
     }
     
+    /**
+     * Write spawn progress, the random stream and the pending enemies for a world snapshot
+     */
+    void writeState(DataOutput out) throws IOException {
+        out.writeDouble(timeSinceLastSpawn);
+        out.writeDouble(spawnInterval);
+        out.writeBoolean(waveActive);
+        out.writeInt(currentWaveNumber);
+        random.writeState(out);
+        out.writeInt(currentWaveEnemies.size());
+        for (Enemy enemy : currentWaveEnemies) {
+            world.writeEnemy(out, enemy);
+        }
+    }
+    
+    void readState(DataInput in) throws IOException {
+        timeSinceLastSpawn = in.readDouble();
+        spawnInterval = in.readDouble();
+        waveActive = in.readBoolean();
+        currentWaveNumber = in.readInt();
+        random.readState(in);
+        currentWaveEnemies.clear();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            currentWaveEnemies.add(world.readEnemy(in));
+        }
+    }
+    
     // Getters
+    public WaveConfig getConfig() {
+        return config;
+    }
+    
     public boolean isWaveActive() {
         return waveActive;
     }
@@ -0,0 +1,91 @@
+package core;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compact binary image of a whole world
+ * Entities write their own fields through writeState/readState (Memento pattern),
+ * so there is no Java serialization or reflection involved
+ * Used for instant restart, save/load, and forking worlds for what-if runs
+ */
+public final class WorldSnapshot {
+    static final int MAGIC = 0x54445753; // "TDWS"
+    static final int VERSION = 3; // 2: enemies store distance along the path instead of waypoint progress; 3: tower target locks
+
+    private final byte[] data;
+
+    private WorldSnapshot(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Capture a world; call from the thread that updates it
+     */
+    public static WorldSnapshot capture(GameState world) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            world.writeState(out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new UncheckedIOException(e);
+        }
+        return new WorldSnapshot(bytes.toByteArray());
+    }
+
+    /**
+     * Replace a world's state with this snapshot; its event listeners stay registered
+     */
+    public void restoreInto(GameState world) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a world snapshot");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported world snapshot version: " + version);
+            }
+            world.readState(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt world snapshot", e);
+        }
+    }
+
+    /**
+     * Build an independent copy of the captured world
+     */
+    public GameState createWorld() {
+        GameState world = new GameState();
+        restoreInto(world);
+        return world;
+    }
+
+    /**
+     * Copy of the encoded bytes
+     */
+    public byte[] toByteArray() {
+        return data.clone();
+    }
+
+    public static WorldSnapshot fromByteArray(byte[] data) {
+        return new WorldSnapshot(data.clone());
+    }
+
+    public void save(Path file) throws IOException {
+        Files.write(file, data);
+    }
+
+    public static WorldSnapshot load(Path file) throws IOException {
+        return new WorldSnapshot(Files.readAllBytes(file));
+    }
+
+    /**
+     * Encoded size in bytes
+     */
+    public int size() {
+        return data.length;
+    }
+}
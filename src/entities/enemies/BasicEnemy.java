@@ -1,17 +1,28 @@
 package entities.enemies;
 
-import java.awt.Color;
+import core.EnemyType;
+import core.GameState;
+import utils.Rgb;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Basic enemy type - balanced stats, no special resistances
  */
 public class BasicEnemy extends Enemy {
-    public BasicEnemy(double x, double y, int waveNumber) {
-        super(x, y, 
+    public BasicEnemy(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               50 + (waveNumber * 10), // HP scales with wave
               60.0, // pixels per second
               10 + waveNumber, // reward scales with wave
-              Color.RED
+              Rgb.RED
         );
         
         this.size = 12;
@@ -23,14 +34,21 @@ public class BasicEnemy extends Enemy {
  * Fast enemy - lower HP but higher speed
  */
 class FastEnemy extends Enemy {
-    public FastEnemy(double x, double y, int waveNumber) {
-        super(x, y,
+    public FastEnemy(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               30 + (waveNumber * 5), // Lower HP
               120.0, // Much faster
               15 + waveNumber,
-              Color.YELLOW
+              Rgb.YELLOW
         );
         
+        this.type = EnemyType.FAST;
         this.size = 10; // Smaller size
     }
 }
@@ -39,14 +57,21 @@ class FastEnemy extends Enemy {
  * Armored enemy - high physical resistance, slow but tanky
  */
 class ArmoredEnemy extends Enemy {
-    public ArmoredEnemy(double x, double y, int waveNumber) {
-        super(x, y,
+    public ArmoredEnemy(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               100 + (waveNumber * 20), // High HP
               30.0, // Slow speed
               25 + (waveNumber * 2),
-              Color.GRAY
+              Rgb.GRAY
         );
         
+        this.type = EnemyType.ARMORED;
         this.size = 16; // Larger size
         this.physicalResistance = 0.5; // 50% physical resistance
     }
@@ -56,14 +81,21 @@ class ArmoredEnemy extends Enemy {
  * Flying enemy - immune to some tower types, medium stats
  */
 class FlyingEnemy extends Enemy {
-    public FlyingEnemy(double x, double y, int waveNumber) {
-        super(x, y,
+    public FlyingEnemy(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               40 + (waveNumber * 8),
               80.0,
               20 + waveNumber,
-              Color.CYAN
+              Rgb.CYAN
         );
         
+        this.type = EnemyType.FLYING;
         this.size = 10;
         // Flying enemies might be immune to certain ground-based attacks
     }
@@ -73,14 +105,21 @@ class FlyingEnemy extends Enemy {
  * Fire elemental - immune to fire, weak to ice
  */
 class FireElemental extends Enemy {
-    public FireElemental(double x, double y, int waveNumber) {
-        super(x, y,
+    public FireElemental(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               60 + (waveNumber * 12),
               70.0,
               30 + (waveNumber * 2),
-              Color.ORANGE
+              Rgb.ORANGE
         );
         
+        this.type = EnemyType.FIRE_ELEMENTAL;
         this.size = 14;
         this.fireResistance = 1.0; // Immune to fire
         this.iceResistance = -0.5; // Takes 50% more ice damage
@@ -91,14 +130,21 @@ class FireElemental extends Enemy {
  * Ice elemental - immune to ice, weak to fire
  */
 class IceElemental extends Enemy {
-    public IceElemental(double x, double y, int waveNumber) {
-        super(x, y,
+    public IceElemental(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               60 + (waveNumber * 12),
               50.0, // Slower than fire elemental
               30 + (waveNumber * 2),
-              Color.BLUE
+              Rgb.BLUE
         );
         
+        this.type = EnemyType.ICE_ELEMENTAL;
         this.size = 14;
         this.iceResistance = 1.0; // Immune to ice
         this.fireResistance = -0.5; // Takes 50% more fire damage
@@ -113,16 +159,24 @@ class RegeneratingEnemy extends Enemy {
     private final double REGEN_INTERVAL = 1.0; // seconds
     private final int REGEN_AMOUNT = 5;
     
-    public RegeneratingEnemy(double x, double y, int waveNumber) {
-        super(x, y,
+    public RegeneratingEnemy(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               80 + (waveNumber * 15),
               45.0,
               35 + (waveNumber * 2),
-              Color.GREEN
+              Rgb.GREEN
         );
         
+        this.type = EnemyType.REGENERATING;
         this.size = 15;
         this.poisonResistance = 0.7; // High poison resistance
+        regenTimer = 0.0;
     }
     
     @Override
@@ -133,25 +187,46 @@ class RegeneratingEnemy extends Enemy {
         regenTimer += deltaTime;
         if (regenTimer >= REGEN_INTERVAL) {
             regenTimer = 0.0;
-            if (currentHp < maxHp && currentHp > 0) {
-                currentHp = Math.min(maxHp, currentHp + REGEN_AMOUNT);
+            int hp = getCurrentHp();
+            int max = getMaxHp();
+            if (hp < max && hp > 0) {
+                setCurrentHp(Math.min(max, hp + REGEN_AMOUNT));
             }
         }
     }
+    
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(regenTimer);
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        regenTimer = in.readDouble();
+    }
 }
 
 /**
  * Boss enemy - appears every 10 waves, very strong
  */
 class BossEnemy extends Enemy {
-    public BossEnemy(double x, double y, int waveNumber) {
-        super(x, y,
+    public BossEnemy(GameState world, double x, double y, int waveNumber) {
+        super(world, x, y);
+        configure(waveNumber);
+    }
+    
+    @Override
+    protected void configure(int waveNumber) {
+        reset(
               200 + (waveNumber * 50), // Very high HP
               25.0, // Slow but unstoppable
               100 + (waveNumber * 10), // High reward
-              Color.MAGENTA
+              Rgb.MAGENTA
         );
         
+        this.type = EnemyType.BOSS;
         this.size = 24; // Much larger
         this.damage = 5; // Deals more damage when reaching end
         
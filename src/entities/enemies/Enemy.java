@@ -1,28 +1,44 @@
 package entities.enemies;
 
+import core.EnemyType;
 import core.GameObject;
 import core.GameState;
+import core.Sprite;
 import entities.towers.Tower;
+import utils.ArcLengthPath;
 import utils.Vector2D;
-import java.awt.Graphics2D;
-import java.awt.Color;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Abstract base class for all enemies
  * Implements Template Method pattern for enemy behavior
+ *
+ * Once spawned, an enemy's per-tick fields live in the world's EnemyStore and this object
+ * is a view onto its slot; the fields below hold the state only while it is detached
+ * (queued for a wave, or removed from the world)
  */
 public abstract class Enemy extends GameObject {
+    // Slot in the store while attached, -1 while detached
+    int slot = -1;
+    int orderPath = -1; // path whose PathOrder list holds this enemy, -1 if none
+    private EnemyStore store;
+    private int pathId = -1; // interned path id, once known
+    
+    protected EnemyType type;
     protected int maxHp;
     protected int currentHp;
     protected double speed;
     protected int reward;
     protected int damage; // Damage dealt to player when reaching end
     protected int towerDamage; // Damage dealt to towers
-    protected List<Vector2D> path;
-    protected int currentPathIndex;
-    protected double pathProgress; // 0.0 to 1.0, how far along the entire path
-    protected Color color;
+    protected ArcLengthPath path; // shared, compiled once per level
+    protected int currentPathIndex; // segment of the path the enemy is on
+    protected double pathDistance; // arc length travelled from the start of the path
+    protected int color; // packed RGB, see utils.Rgb
     protected int size;
     
     // Ranged attack
@@ -44,8 +60,34 @@ public abstract class Enemy extends GameObject {
     protected double poisonTimeRemaining;
     protected int poisonDamagePerSecond;
     
-    public Enemy(double x, double y, int hp, double speed, int reward, Color color) {
-        super(x, y);
+    /**
+     * Subclass constructors call configure(waveNumber) right after this
+     */
+    protected Enemy(GameState world, double x, double y) {
+        super(world, x, y);
+    }
+    
+    /**
+     * Set this type's stats for a wave: call reset, then adjust type, size and resistances
+     * Runs from the constructor and again each time a pooled enemy is respawned
+     */
+    protected abstract void configure(int waveNumber);
+    
+    /**
+     * Bring a pooled enemy back as a new, unspawned enemy for a wave, with a fresh ID
+     */
+    public void respawn(int waveNumber) {
+        recycle();
+        position.set(0, 0);
+        previousPosition.set(0, 0);
+        configure(waveNumber);
+    }
+    
+    /**
+     * Base stats and a clean detached state: no path, no status effects, default resistances
+     */
+    protected void reset(int hp, double speed, int reward, int color) {
+        this.type = EnemyType.BASIC;
         this.maxHp = hp;
         this.currentHp = hp;
         this.speed = speed;
@@ -55,7 +97,7 @@ public abstract class Enemy extends GameObject {
         this.color = color;
         this.size = 12;
         this.currentPathIndex = 0;
-        this.pathProgress = 0.0;
+        this.pathDistance = 0.0;
         
         // Default resistances (0.0 = no resistance, 1.0 = immune)
         this.physicalResistance = 0.0;
@@ -70,25 +112,26 @@ public abstract class Enemy extends GameObject {
         this.freezeTimeRemaining = 0.0;
         this.poisonTimeRemaining = 0.0;
         this.poisonDamagePerSecond = 0;
+        
+        // Ranged attack
+        this.rangedRange = 90.0;
+        this.rangedFireRate = 0.5;
+        this.timeSinceLastRangedShot = 0.0;
+        
+        clearPath();
     }
     
     @Override
     protected void updateLogic(double deltaTime) {
-        // Timers
-        timeSinceLastRangedShot += deltaTime;
-        updateStatusEffects(deltaTime);
-        
-        if (!frozen) {
-            moveAlongPath(deltaTime);
-        }
+        // Timers, status effects and movement already ran in EnemyStore.advance
         
         // Check if enemy reached the end
-        if (currentPathIndex >= path.size() - 1) {
+        if (isAttached() && getPathProgress() >= 1.0) {
             reachedEnd();
         }
         
         // Check if enemy is dead
-        if (currentHp <= 0) {
+        if (getCurrentHp() <= 0) {
             die();
         }
         
@@ -104,76 +147,76 @@ public abstract class Enemy extends GameObject {
     }
     
     @Override
-    protected void draw(Graphics2D g2d) {
-        // Draw the enemy as a colored circle
-        g2d.setColor(getDisplayColor());
-        int x = (int) (position.x - size / 2);
-        int y = (int) (position.y - size / 2);
-        g2d.fillOval(x, y, size, size);
-        
-        // Draw health bar
-        drawHealthBar(g2d);
-        
-        // Draw status effect indicators
-        drawStatusEffects(g2d);
+    public Sprite createSprite() {
+        if (isAttached()) {
+            return new EnemySprite(this, new Vector2D(store.prevX[slot], store.prevY[slot]),
+                new Vector2D(store.x[slot], store.y[slot]));
+        }
+        return new EnemySprite(this, previousPosition, position);
+    }
+    
+    // Store attachment
+    
+    boolean isAttached() {
+        return slot >= 0;
     }
     
     /**
-     * Move the enemy along its assigned path
+     * Forget the path and store of a detached enemy, so a pooled one keeps neither alive
      */
-    private void moveAlongPath(double deltaTime) {
-        if (path == null || path.isEmpty() || currentPathIndex >= path.size() - 1) {
-            return;
-        }
-        
-        Vector2D currentTarget = path.get(currentPathIndex + 1);
-        Vector2D direction = currentTarget.subtract(position).normalize();
-        Vector2D movement = direction.multiply(speed * deltaTime);
-        
-        // Move towards next waypoint
-        position = position.add(movement);
-        
-        // Check if we've reached the current waypoint
-        if (position.distanceTo(currentTarget) < 5.0) {
-            currentPathIndex++;
-            updatePathProgress();
-        }
+    void clearPath() {
+        path = null;
+        pathId = -1;
+        store = null;
     }
     
     /**
-     * Update the overall progress along the path (0.0 to 1.0)
+     * Copy the detached fields into a freshly allocated store slot
      */
-    private void updatePathProgress() {
-        if (path == null || path.isEmpty()) {
-            pathProgress = 0.0;
-            return;
+    void pushToStore(EnemyStore store, int slot) {
+        this.store = store;
+        if (pathId < 0 && path != null) {
+            pathId = store.internPath(path);
         }
-        
-        pathProgress = (double) currentPathIndex / (path.size() - 1);
+        store.x[slot] = position.x;
+        store.y[slot] = position.y;
+        store.prevX[slot] = previousPosition.x;
+        store.prevY[slot] = previousPosition.y;
+        store.hp[slot] = currentHp;
+        store.maxHp[slot] = maxHp;
+        store.speed[slot] = speed;
+        store.pathId[slot] = pathId;
+        store.pathIndex[slot] = currentPathIndex;
+        store.pathDistance[slot] = pathDistance;
+        store.rangedCooldown[slot] = timeSinceLastRangedShot;
+        store.frozen[slot] = frozen;
+        store.poisoned[slot] = poisoned;
+        store.freezeTime[slot] = freezeTimeRemaining;
+        store.poisonTime[slot] = poisonTimeRemaining;
+        store.poisonDps[slot] = poisonDamagePerSecond;
+        store.active[slot] = active;
     }
     
     /**
-     * Update status effects like freeze and poison
+     * Copy the store slot back into the detached fields
      */
-    private void updateStatusEffects(double deltaTime) {
-        // Handle freeze effect
-        if (frozen) {
-            freezeTimeRemaining -= deltaTime;
-            if (freezeTimeRemaining <= 0) {
-                frozen = false;
-            }
-        }
-        
-        // Handle poison effect
-        if (poisoned) {
-            poisonTimeRemaining -= deltaTime;
-            if (poisonTimeRemaining <= 0) {
-                poisoned = false;
-            } else {
-                // Apply poison damage
-                takeDamage((int) (poisonDamagePerSecond * deltaTime), DamageType.POISON);
-            }
-        }
+    void pullFromStore() {
+        if (!isAttached()) return;
+        position = new Vector2D(store.x[slot], store.y[slot]);
+        previousPosition = new Vector2D(store.prevX[slot], store.prevY[slot]);
+        currentHp = store.hp[slot];
+        maxHp = store.maxHp[slot];
+        speed = store.speed[slot];
+        pathId = store.pathId[slot];
+        currentPathIndex = store.pathIndex[slot];
+        pathDistance = store.pathDistance[slot];
+        timeSinceLastRangedShot = store.rangedCooldown[slot];
+        frozen = store.frozen[slot];
+        poisoned = store.poisoned[slot];
+        freezeTimeRemaining = store.freezeTime[slot];
+        poisonTimeRemaining = store.poisonTime[slot];
+        poisonDamagePerSecond = store.poisonDps[slot];
+        active = store.active[slot];
     }
     
     /**
@@ -182,14 +225,11 @@ public abstract class Enemy extends GameObject {
     public void takeDamage(int damage, DamageType damageType) {
         double resistance = getResistance(damageType);
         int actualDamage = (int) (damage * (1.0 - resistance));
-        int before = currentHp;
-        currentHp -= actualDamage;
+        int before = getCurrentHp();
+        int after = Math.max(0, before - actualDamage);
         System.out.println("[DMG][Enemy] id=" + getId() + " type=" + getClass().getSimpleName() +
-            " dmg=" + actualDamage + " (" + damageType + ") from=" + before + " -> " + currentHp);
-        
-        if (currentHp < 0) {
-            currentHp = 0;
-        }
+            " dmg=" + actualDamage + " (" + damageType + ") from=" + before + " -> " + (before - actualDamage));
+        setCurrentHp(after);
     }
     
     /**
@@ -211,8 +251,14 @@ public abstract class Enemy extends GameObject {
      */
     public void applyFreeze(double duration) {
         if (iceResistance < 1.0) {
-            frozen = true;
-            freezeTimeRemaining = duration * (1.0 - iceResistance);
+            double time = duration * (1.0 - iceResistance);
+            if (isAttached()) {
+                store.frozen[slot] = true;
+                store.freezeTime[slot] = time;
+            } else {
+                frozen = true;
+                freezeTimeRemaining = time;
+            }
         }
     }
     
@@ -221,116 +267,256 @@ public abstract class Enemy extends GameObject {
      */
     public void applyPoison(double duration, int damagePerSecond) {
         if (poisonResistance < 1.0) {
-            poisoned = true;
-            poisonTimeRemaining = duration * (1.0 - poisonResistance);
-            this.poisonDamagePerSecond = (int) (damagePerSecond * (1.0 - poisonResistance));
+            double time = duration * (1.0 - poisonResistance);
+            int dps = (int) (damagePerSecond * (1.0 - poisonResistance));
+            if (isAttached()) {
+                store.poisoned[slot] = true;
+                store.poisonTime[slot] = time;
+                store.poisonDps[slot] = dps;
+            } else {
+                poisoned = true;
+                poisonTimeRemaining = time;
+                this.poisonDamagePerSecond = dps;
+            }
         }
     }
     
     /**
-     * Get the display color (may be modified by status effects)
+     * Called when enemy reaches the end of the path
      */
-    private Color getDisplayColor() {
-        if (frozen) {
-            return new Color(
-                (color.getRed() + 100) / 2,
-                (color.getGreen() + 100) / 2,
-                255
-            );
-        } else if (poisoned) {
-            return new Color(
-                Math.min(255, color.getRed() + 50),
-                Math.max(0, color.getGreen() - 50),
-                Math.min(255, color.getBlue() + 100)
-            );
-        }
-        return color;
+    protected void reachedEnd() {
+        // This will be handled by the game state
+        destroy();
     }
     
     /**
-     * Draw health bar above the enemy
+     * Called when enemy dies
      */
-    private void drawHealthBar(Graphics2D g2d) {
-        // Always show health bar for better visibility
-        int barWidth = size;
-        int barHeight = 4;
-        int x = (int) (position.x - barWidth / 2);
-        int y = (int) (position.y - size / 2 - barHeight - 2);
-        
-        // Background
-        g2d.setColor(Color.RED);
-        g2d.fillRect(x, y, barWidth, barHeight);
-        
-        // Health
-        g2d.setColor(Color.GREEN);
-        int healthWidth = (int) (barWidth * ((double) currentHp / maxHp));
-        g2d.fillRect(x, y, healthWidth, barHeight);
-        
-        // Border
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(x, y, barWidth, barHeight);
+    protected void die() {
+        // This will be handled by the game state
+        destroy();
     }
     
-    /**
-     * Draw status effect indicators
-     */
-    private void drawStatusEffects(Graphics2D g2d) {
-        int indicatorSize = 6;
-        int x = (int) (position.x + size / 2 + 2);
-        int y = (int) (position.y - size / 2);
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        // The detached fields are the serialized form
+        pullFromStore();
+        super.writeState(out);
+        out.writeInt(maxHp);
+        out.writeInt(currentHp);
+        out.writeDouble(speed);
+        out.writeInt(reward);
+        out.writeInt(damage);
+        out.writeInt(towerDamage);
+        out.writeInt(currentPathIndex);
+        out.writeDouble(pathDistance);
+        out.writeInt(color);
+        out.writeInt(size);
+        out.writeDouble(rangedRange);
+        out.writeDouble(rangedFireRate);
+        out.writeDouble(timeSinceLastRangedShot);
+        out.writeDouble(physicalResistance);
+        out.writeDouble(magicalResistance);
+        out.writeDouble(fireResistance);
+        out.writeDouble(iceResistance);
+        out.writeDouble(poisonResistance);
+        out.writeBoolean(frozen);
+        out.writeBoolean(poisoned);
+        out.writeDouble(freezeTimeRemaining);
+        out.writeDouble(poisonTimeRemaining);
+        out.writeInt(poisonDamagePerSecond);
         
-        if (frozen) {
-            g2d.setColor(Color.CYAN);
-            g2d.fillOval(x, y, indicatorSize, indicatorSize);
-            y += indicatorSize + 1;
+        // Path: index of one of the level's paths, -1 for none, -2 for inline waypoints
+        ArcLengthPath path = getPath();
+        int pathIndex = path == null ? -1 : world.indexOfEnemyPath(path);
+        if (path != null && pathIndex < 0) {
+            pathIndex = -2;
+        }
+        out.writeInt(pathIndex);
+        if (pathIndex == -2) {
+            out.writeInt(path.pointCount());
+            for (Vector2D point : path.toList()) {
+                out.writeDouble(point.x);
+                out.writeDouble(point.y);
+            }
         }
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        maxHp = in.readInt();
+        currentHp = in.readInt();
+        speed = in.readDouble();
+        reward = in.readInt();
+        damage = in.readInt();
+        towerDamage = in.readInt();
+        currentPathIndex = in.readInt();
+        pathDistance = in.readDouble();
+        color = in.readInt();
+        size = in.readInt();
+        rangedRange = in.readDouble();
+        rangedFireRate = in.readDouble();
+        timeSinceLastRangedShot = in.readDouble();
+        physicalResistance = in.readDouble();
+        magicalResistance = in.readDouble();
+        fireResistance = in.readDouble();
+        iceResistance = in.readDouble();
+        poisonResistance = in.readDouble();
+        frozen = in.readBoolean();
+        poisoned = in.readBoolean();
+        freezeTimeRemaining = in.readDouble();
+        poisonTimeRemaining = in.readDouble();
+        poisonDamagePerSecond = in.readInt();
         
-        if (poisoned) {
-            g2d.setColor(new Color(128, 255, 0));
-            g2d.fillOval(x, y, indicatorSize, indicatorSize);
+        store = null;
+        slot = -1;
+        pathId = -1;
+        int pathIndex = in.readInt();
+        if (pathIndex == -1) {
+            path = null;
+        } else if (pathIndex == -2) {
+            int count = in.readInt();
+            List<Vector2D> points = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                points.add(new Vector2D(in.readDouble(), in.readDouble()));
+            }
+            path = ArcLengthPath.of(points);
+        } else {
+            path = world.getCompiledEnemyPath(pathIndex);
         }
     }
     
-    /**
-     * Called when enemy reaches the end of the path
-     */
-    protected void reachedEnd() {
-        // This will be handled by the game state
-        destroy();
+    // Getters and setters
+    public EnemyType getType() {
+        return type;
     }
     
     /**
-     * Called when enemy dies
+     * Put the enemy at the start of a compiled path
      */
-    protected void die() {
-        // This will be handled by the game state
-        destroy();
+    public void setPath(ArcLengthPath path) {
+        if (isAttached()) {
+            pathId = path != null ? store.internPath(path) : -1;
+            store.pathId[slot] = pathId;
+        } else {
+            this.path = path;
+            this.pathId = -1;
+        }
+        if (path != null) {
+            setPosition(new Vector2D(path.startX(), path.startY()));
+            setPathDistance(0, 0.0);
+        }
     }
     
-    // Getters and setters
-    public void setPath(List<Vector2D> path) {
-        this.path = path;
-        if (path != null && !path.isEmpty()) {
-            setPosition(path.get(0));
-            currentPathIndex = 0;
-            updatePathProgress();
+    private void setPathDistance(int segment, double distance) {
+        if (isAttached()) {
+            store.pathIndex[slot] = segment;
+            store.pathDistance[slot] = distance;
+        } else {
+            currentPathIndex = segment;
+            pathDistance = distance;
         }
     }
     
-    public List<Vector2D> getPath() {
+    /**
+     * The shared compiled path this enemy follows, or null before it is spawned
+     */
+    public ArcLengthPath getPath() {
+        if (pathId >= 0 && store != null) {
+            return store.getPath(pathId);
+        }
         return path;
     }
     
+    /**
+     * Distance travelled along the path
+     */
+    public double getPathDistance() {
+        return isAttached() ? store.pathDistance[slot] : pathDistance;
+    }
+    
+    /**
+     * Exact fraction of the path covered, 0.0 to 1.0; continuous, so it orders enemies within a segment too
+     */
     public double getPathProgress() {
-        return pathProgress;
+        ArcLengthPath path = getPath();
+        return path != null ? path.progressAt(getPathDistance()) : 0.0;
+    }
+
+    /**
+     * Distance left along the path to its end, or Double.MAX_VALUE off any path
+     */
+    public double getDistanceToExit() {
+        ArcLengthPath path = getPath();
+        return path != null ? Math.max(0.0, path.length() - getPathDistance()) : Double.MAX_VALUE;
     }
     
     public int getCurrentHp() {
-        return currentHp;
+        return isAttached() ? store.hp[slot] : currentHp;
+    }
+    
+    protected void setCurrentHp(int hp) {
+        if (isAttached()) {
+            store.hp[slot] = hp;
+        } else {
+            currentHp = hp;
+        }
     }
     
     public int getMaxHp() {
-        return maxHp;
+        return isAttached() ? store.maxHp[slot] : maxHp;
+    }
+    
+    @Override
+    public Vector2D getPosition() {
+        return isAttached() ? new Vector2D(store.x[slot], store.y[slot]) : super.getPosition();
+    }
+    
+    @Override
+    public double getX() {
+        return isAttached() ? store.x[slot] : super.getX();
+    }
+    
+    @Override
+    public double getY() {
+        return isAttached() ? store.y[slot] : super.getY();
+    }
+    
+    @Override
+    public void setPosition(Vector2D position) {
+        if (isAttached()) {
+            store.x[slot] = position.x;
+            store.y[slot] = position.y;
+            // Teleport: do not interpolate from the old position
+            store.prevX[slot] = position.x;
+            store.prevY[slot] = position.y;
+            store.markMoved();
+        } else {
+            super.setPosition(position);
+        }
+    }
+    
+    @Override
+    public boolean isActive() {
+        return isAttached() ? store.active[slot] : active;
+    }
+    
+    @Override
+    public void setActive(boolean active) {
+        super.setActive(active);
+        if (isAttached()) {
+            store.active[slot] = active;
+            store.markMoved();
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (isAttached()) {
+            store.active[slot] = false;
+        }
     }
     
     public int getReward() {
@@ -346,22 +532,26 @@ public abstract class Enemy extends GameObject {
     }
     
     public double getSpeed() {
-        return speed;
+        return isAttached() ? store.speed[slot] : speed;
     }
     
     public boolean isFrozen() {
-        return frozen;
+        return isAttached() ? store.frozen[slot] : frozen;
     }
     
     public boolean isPoisoned() {
-        return poisoned;
+        return isAttached() ? store.poisoned[slot] : poisoned;
     }
     
     /**
      * Set enemy speed (for status effects)
      */
     public void setSpeed(double newSpeed) {
-        this.speed = newSpeed;
+        if (isAttached()) {
+            store.speed[slot] = newSpeed;
+        } else {
+            this.speed = newSpeed;
+        }
     }
     
     /**
@@ -370,44 +560,33 @@ public abstract class Enemy extends GameObject {
     private void attackNearbyTowers() {
         if (!isActive()) return;
         
-        List<Tower> towers = GameState.getInstance().getTowers();
-        for (Tower tower : towers) {
-            if (tower.isActive() && !tower.isDestroyed()) {
-                double distance = position.distanceTo(tower.getPosition());
-                if (distance <= 15) { // Attack range
-                    tower.takeDamage(towerDamage);
-                    System.out.println("[ENEMY][Melee] enemy=" + getId() + " -> tower=" + tower.getId() + " dmg=" + towerDamage);
-                    break; // Only attack one tower at a time
-                }
-            }
+        // Only attack one tower at a time: the first standing one within reach
+        Tower tower = world.getTowerIndex().findFirstWithin(getX(), getY(), 15); // Attack range
+        if (tower != null) {
+            tower.takeDamage(towerDamage);
+            System.out.println("[ENEMY][Melee] enemy=" + getId() + " -> tower=" + tower.getId() + " dmg=" + towerDamage);
         }
     }
 
     private void attemptRangedAttack() {
         if (!isActive()) return;
-        if (timeSinceLastRangedShot < (1.0 / rangedFireRate)) return;
+        double cooldown = isAttached() ? store.rangedCooldown[slot] : timeSinceLastRangedShot;
+        if (cooldown < (1.0 / rangedFireRate)) return;
         
         Tower targetTower = findNearestTowerWithin(rangedRange);
         if (targetTower != null) {
             targetTower.takeDamage(Math.max(1, towerDamage / 2)); // ranged a bit weaker than melee
-            timeSinceLastRangedShot = 0.0;
+            if (isAttached()) {
+                store.rangedCooldown[slot] = 0.0;
+            } else {
+                timeSinceLastRangedShot = 0.0;
+            }
             System.out.println("[ENEMY][Ranged] enemy=" + getId() + " -> tower=" + targetTower.getId());
         }
     }
     
     private Tower findNearestTowerWithin(double range) {
-        Tower best = null;
-        double bestDist = Double.MAX_VALUE;
-        for (Tower t : GameState.getInstance().getTowers()) {
-            if (t.isActive() && !t.isDestroyed()) {
-                double d = position.distanceTo(t.getPosition());
-                if (d <= range && d < bestDist) {
-                    bestDist = d;
-                    best = t;
-                }
-            }
-        }
-        return best;
+        return world.getTowerIndex().findNearestWithin(getX(), getY(), range);
     }
 }
 
@@ -0,0 +1,77 @@
+package entities.enemies;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the play field that buckets enemy store slots by position
+ * Rebuilt from the position columns with a counting sort (two passes, no allocation once
+ * grown), so a range query only visits the cells its circle overlaps. Points outside the
+ * field are clamped into the border cells, which keeps queries exact for any position
+ */
+class EnemyGrid {
+    static final double FIELD_WIDTH = 800.0;
+    static final double FIELD_HEIGHT = 600.0;
+    static final double CELL_SIZE = 40.0;
+
+    final int columns;
+    final int rows;
+    final int[] cellStart; // slots of cell c are cellSlots[cellStart[c] .. cellStart[c + 1])
+    int[] cellSlots;
+    private int[] slotCell;
+
+    EnemyGrid(int capacity) {
+        this.columns = (int) Math.ceil(FIELD_WIDTH / CELL_SIZE);
+        this.rows = (int) Math.ceil(FIELD_HEIGHT / CELL_SIZE);
+        this.cellStart = new int[columns * rows + 1];
+        this.cellSlots = new int[capacity];
+        this.slotCell = new int[capacity];
+    }
+
+    int column(double x) {
+        int column = (int) Math.floor(x / CELL_SIZE);
+        return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+    }
+
+    int row(double y) {
+        int row = (int) Math.floor(y / CELL_SIZE);
+        return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+    }
+
+    /**
+     * Bucket the active slots in [0, size) by cell; slots stay in ascending order within a cell
+     */
+    void rebuild(double[] x, double[] y, boolean[] active, int size) {
+        if (cellSlots.length < size) {
+            int capacity = Math.max(size, cellSlots.length * 2);
+            cellSlots = new int[capacity];
+            slotCell = new int[capacity];
+        }
+        Arrays.fill(cellStart, 0);
+
+        // Count per cell, shifted by one so the prefix sum lands on the start offsets
+        for (int i = 0; i < size; i++) {
+            if (!active[i]) {
+                slotCell[i] = -1;
+                continue;
+            }
+            int cell = row(y[i]) * columns + column(x[i]);
+            slotCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+
+        // Fill, using each cell's start as its write cursor
+        for (int i = 0; i < size; i++) {
+            int cell = slotCell[i];
+            if (cell < 0) continue;
+            cellSlots[cellStart[cell]++] = i;
+        }
+        // The fill advanced each start to the next cell's start; shift back
+        for (int c = columns * rows; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+}
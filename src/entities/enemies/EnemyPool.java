@@ -0,0 +1,95 @@
+package entities.enemies;
+
+import core.EnemyType;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Recycles enemies for one world, with a free list per EnemyType
+ * Enemies come back after end-of-tick cleanup has dropped them from the world and its store.
+ * Whoever acquires one must call Enemy.respawn, which gives it a fresh ID; stale references
+ * (a projectile still aimed at the old enemy) can tell the two apart by ID
+ */
+public class EnemyPool {
+    private final Map<EnemyType, ArrayDeque<Enemy>> free;
+
+    // Stats
+    private long acquired;
+    private long hits;
+    private int inUse;
+    private int highWaterMark;
+
+    public EnemyPool() {
+        this.free = new EnumMap<>(EnemyType.class);
+        for (EnemyType type : EnemyType.values()) {
+            free.put(type, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Take a released enemy of this type, or null if the caller has to build a new one
+     * Either way the acquire is counted
+     */
+    public Enemy acquire(EnemyType type) {
+        acquired++;
+        inUse++;
+        if (inUse > highWaterMark) {
+            highWaterMark = inUse;
+        }
+        Enemy enemy = free.get(type).poll();
+        if (enemy != null) {
+            hits++;
+        }
+        return enemy;
+    }
+
+    /**
+     * Return an enemy that is no longer in the world; it must already be released from the store
+     */
+    public void release(Enemy enemy) {
+        if (enemy.isAttached()) {
+            throw new IllegalStateException("Enemy " + enemy.getId() + " is still in the store");
+        }
+        enemy.clearPath();
+        free.get(enemy.getType()).push(enemy);
+        if (inUse > 0) {
+            inUse--;
+        }
+    }
+
+    // Stats
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Fraction of acquires served from the free lists
+     */
+    public double getHitRate() {
+        return acquired == 0 ? 0.0 : (double) hits / acquired;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Most enemies out of the pool at once (spawned or queued for a wave)
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public int getFreeCount() {
+        int count = 0;
+        for (ArrayDeque<Enemy> list : free.values()) {
+            count += list.size();
+        }
+        return count;
+    }
+}
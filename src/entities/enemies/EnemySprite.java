@@ -0,0 +1,130 @@
+package entities.enemies;
+
+import core.Sprite;
+import utils.Rgb;
+import utils.Vector2D;
+import java.awt.Graphics2D;
+import java.awt.Color;
+
+/**
+ * Immutable render snapshot of an enemy
+ */
+public final class EnemySprite implements Sprite {
+    private final int id;
+    private final double previousX, previousY;
+    private final double x, y;
+    private final int size;
+    private final int color;
+    private final int currentHp;
+    private final int maxHp;
+    private final boolean frozen;
+    private final boolean poisoned;
+    
+    EnemySprite(Enemy enemy, Vector2D previous, Vector2D current) {
+        this.id = enemy.getId();
+        this.previousX = previous.x;
+        this.previousY = previous.y;
+        this.x = current.x;
+        this.y = current.y;
+        this.size = enemy.size;
+        this.color = enemy.color;
+        this.currentHp = enemy.getCurrentHp();
+        this.maxHp = enemy.getMaxHp();
+        this.frozen = enemy.isFrozen();
+        this.poisoned = enemy.isPoisoned();
+    }
+    
+    @Override
+    public void draw(Graphics2D g2d, double alpha) {
+        double drawX = previousX + (x - previousX) * alpha;
+        double drawY = previousY + (y - previousY) * alpha;
+        
+        // Draw the enemy as a colored circle
+        g2d.setColor(getDisplayColor());
+        int left = (int) (drawX - size / 2);
+        int top = (int) (drawY - size / 2);
+        g2d.fillOval(left, top, size, size);
+        
+        // Draw health bar
+        drawHealthBar(g2d, drawX, drawY);
+        
+        // Draw status effect indicators
+        drawStatusEffects(g2d, drawX, drawY);
+    }
+    
+    /**
+     * Get the display color (may be modified by status effects)
+     */
+    private Color getDisplayColor() {
+        if (frozen) {
+            return new Color(
+                (Rgb.red(color) + 100) / 2,
+                (Rgb.green(color) + 100) / 2,
+                255
+            );
+        } else if (poisoned) {
+            return new Color(
+                Math.min(255, Rgb.red(color) + 50),
+                Math.max(0, Rgb.green(color) - 50),
+                Math.min(255, Rgb.blue(color) + 100)
+            );
+        }
+        return new Color(color);
+    }
+    
+    /**
+     * Draw health bar above the enemy
+     */
+    private void drawHealthBar(Graphics2D g2d, double drawX, double drawY) {
+        // Always show health bar for better visibility
+        int barWidth = size;
+        int barHeight = 4;
+        int left = (int) (drawX - barWidth / 2);
+        int top = (int) (drawY - size / 2 - barHeight - 2);
+        
+        // Background
+        g2d.setColor(Color.RED);
+        g2d.fillRect(left, top, barWidth, barHeight);
+        
+        // Health
+        g2d.setColor(Color.GREEN);
+        int healthWidth = (int) (barWidth * ((double) currentHp / maxHp));
+        g2d.fillRect(left, top, healthWidth, barHeight);
+        
+        // Border
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(left, top, barWidth, barHeight);
+    }
+    
+    /**
+     * Draw status effect indicators
+     */
+    private void drawStatusEffects(Graphics2D g2d, double drawX, double drawY) {
+        int indicatorSize = 6;
+        int left = (int) (drawX + size / 2 + 2);
+        int top = (int) (drawY - size / 2);
+        
+        if (frozen) {
+            g2d.setColor(Color.CYAN);
+            g2d.fillOval(left, top, indicatorSize, indicatorSize);
+            top += indicatorSize + 1;
+        }
+        
+        if (poisoned) {
+            g2d.setColor(new Color(128, 255, 0));
+            g2d.fillOval(left, top, indicatorSize, indicatorSize);
+        }
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+}
@@ -0,0 +1,441 @@
+package entities.enemies;
+
+import utils.ArcLengthPath;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Structure-of-arrays storage for the enemies alive in one world
+ * The per-tick fields (position, hp, speed, path distance, status timers) live in parallel primitive
+ * arrays indexed by slot, so the movement pass and tower range scans walk contiguous memory.
+ * Enemy objects are thin views that hold their slot; removal swaps the last slot into the hole
+ * so live slots stay packed in [0, size). Range queries go through a uniform grid over the
+ * position columns, rebuilt lazily on the first query after enemies moved (so once per tick);
+ * towers ask by path distance instead, through a per-path ordering brought up to date the same way
+ */
+public class EnemyStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Columns
+    double[] x, y;
+    double[] prevX, prevY; // position before the last tick, for render interpolation
+    int[] hp, maxHp;
+    double[] speed;
+    int[] pathId, pathIndex; // path and the segment the enemy is on
+    double[] pathDistance; // arc length travelled along the path
+    double[] rangedCooldown; // time since the last ranged shot
+    boolean[] frozen, poisoned;
+    double[] freezeTime, poisonTime;
+    int[] poisonDps;
+    boolean[] active;
+    Enemy[] views;
+    private int size;
+
+    // Spatial index over the position columns
+    private final EnemyGrid grid;
+    private boolean gridDirty;
+    private int[] found; // scratch for query results
+
+    // Enemies per path, by distance along it
+    private final PathOrder order;
+    private boolean orderDirty;
+
+    // Interned compiled paths; ids stay valid for the life of the world
+    private ArcLengthPath[] paths;
+    private int pathCount;
+
+    public EnemyStore() {
+        allocate(INITIAL_CAPACITY);
+        this.grid = new EnemyGrid(INITIAL_CAPACITY);
+        this.gridDirty = true;
+        this.order = new PathOrder();
+        this.orderDirty = true;
+        this.found = new int[INITIAL_CAPACITY];
+        this.paths = new ArcLengthPath[4];
+        this.pathCount = 0;
+        this.size = 0;
+    }
+
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        hp = new int[capacity];
+        maxHp = new int[capacity];
+        speed = new double[capacity];
+        pathId = new int[capacity];
+        pathIndex = new int[capacity];
+        pathDistance = new double[capacity];
+        rangedCooldown = new double[capacity];
+        frozen = new boolean[capacity];
+        poisoned = new boolean[capacity];
+        freezeTime = new double[capacity];
+        poisonTime = new double[capacity];
+        poisonDps = new int[capacity];
+        active = new boolean[capacity];
+        views = new Enemy[capacity];
+    }
+
+    private void grow() {
+        int capacity = views.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        hp = Arrays.copyOf(hp, capacity);
+        maxHp = Arrays.copyOf(maxHp, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        pathId = Arrays.copyOf(pathId, capacity);
+        pathIndex = Arrays.copyOf(pathIndex, capacity);
+        pathDistance = Arrays.copyOf(pathDistance, capacity);
+        rangedCooldown = Arrays.copyOf(rangedCooldown, capacity);
+        frozen = Arrays.copyOf(frozen, capacity);
+        poisoned = Arrays.copyOf(poisoned, capacity);
+        freezeTime = Arrays.copyOf(freezeTime, capacity);
+        poisonTime = Arrays.copyOf(poisonTime, capacity);
+        poisonDps = Arrays.copyOf(poisonDps, capacity);
+        active = Arrays.copyOf(active, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    /**
+     * Move an enemy's state into the store; from now on its view reads and writes the columns
+     */
+    public void attach(Enemy enemy) {
+        if (enemy.slot >= 0) {
+            throw new IllegalStateException("Enemy " + enemy.getId() + " is already attached");
+        }
+        if (size == views.length) {
+            grow();
+        }
+        int slot = size++;
+        views[slot] = enemy;
+        enemy.slot = slot;
+        enemy.pushToStore(this, slot);
+        gridDirty = true;
+        orderDirty = true;
+    }
+
+    /**
+     * Copy an enemy's state back into its view and free its slot (swap-remove)
+     */
+    public void release(Enemy enemy) {
+        int slot = enemy.slot;
+        if (slot < 0 || views[slot] != enemy) {
+            return;
+        }
+        enemy.pullFromStore();
+        enemy.slot = -1;
+
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+        }
+        views[last] = null;
+        gridDirty = true;
+        orderDirty = true;
+    }
+
+    private void move(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        hp[to] = hp[from];
+        maxHp[to] = maxHp[from];
+        speed[to] = speed[from];
+        pathId[to] = pathId[from];
+        pathIndex[to] = pathIndex[from];
+        pathDistance[to] = pathDistance[from];
+        rangedCooldown[to] = rangedCooldown[from];
+        frozen[to] = frozen[from];
+        poisoned[to] = poisoned[from];
+        freezeTime[to] = freezeTime[from];
+        poisonTime[to] = poisonTime[from];
+        poisonDps[to] = poisonDps[from];
+        active[to] = active[from];
+        views[to] = views[from];
+        views[to].slot = to;
+    }
+
+    /**
+     * Detach every enemy (used when a world is restored)
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            views[i].slot = -1;
+            views[i] = null;
+        }
+        size = 0;
+        gridDirty = true;
+        orderDirty = true;
+    }
+    
+    /**
+     * A position was written or an enemy came back to life outside advance; the grid must be rebuilt
+     */
+    void markMoved() {
+        gridDirty = true;
+        orderDirty = true;
+    }
+
+    /**
+     * Per-tick pass over all live enemies: cooldowns, status effects and movement along the path
+     * Behavior-dependent logic (reaching the end, dying, attacking towers) stays in Enemy.updateLogic
+     */
+    public void advance(double deltaTime) {
+        for (int i = 0; i < size; i++) {
+            if (!active[i]) continue;
+
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            rangedCooldown[i] += deltaTime;
+
+            // Freeze
+            if (frozen[i]) {
+                freezeTime[i] -= deltaTime;
+                if (freezeTime[i] <= 0) {
+                    frozen[i] = false;
+                }
+            }
+
+            // Poison
+            if (poisoned[i]) {
+                poisonTime[i] -= deltaTime;
+                if (poisonTime[i] <= 0) {
+                    poisoned[i] = false;
+                } else {
+                    int poisonDamage = (int) (poisonDps[i] * deltaTime);
+                    if (poisonDamage > 0) {
+                        // Rare path; goes through the view for resistance and logging
+                        views[i].takeDamage(poisonDamage, DamageType.POISON);
+                    }
+                }
+            }
+
+            if (!frozen[i]) {
+                moveAlongPath(i, deltaTime);
+            }
+        }
+        gridDirty = true;
+        orderDirty = true;
+    }
+
+    private void moveAlongPath(int i, double deltaTime) {
+        int id = pathId[i];
+        if (id < 0) return;
+        ArcLengthPath path = paths[id];
+        double s = pathDistance[i];
+        if (s >= path.length()) return;
+
+        // Advance the distance, then look the position up on the compiled path
+        s = Math.min(path.length(), s + speed[i] * deltaTime);
+        int segment = path.segmentAt(s, pathIndex[i]);
+        pathDistance[i] = s;
+        pathIndex[i] = segment;
+        x[i] = path.xAt(s, segment);
+        y[i] = path.yAt(s, segment);
+    }
+
+    // Range queries
+
+    /**
+     * Append every active enemy within range of a point to out
+     * Order is by grid cell, then slot: deterministic, but not the order of a full scan
+     */
+    public void collectInRange(double centerX, double centerY, double range, List<Enemy> out) {
+        int count = gatherInRange(centerX, centerY, range);
+        for (int k = 0; k < count; k++) {
+            out.add(views[found[k]]);
+        }
+    }
+
+    /**
+     * Active enemy within range with the lowest slot, or null
+     */
+    public Enemy findFirstInRange(double centerX, double centerY, double range) {
+        int count = gatherInRange(centerX, centerY, range);
+        int best = -1;
+        for (int k = 0; k < count; k++) {
+            if (best < 0 || found[k] < best) {
+                best = found[k];
+            }
+        }
+        return best >= 0 ? views[best] : null;
+    }
+
+    /**
+     * Closest active enemy within range other than exclude, or null; ties go to the lowest slot
+     */
+    public Enemy findNearestInRange(double centerX, double centerY, double range, Enemy exclude) {
+        int count = gatherInRange(centerX, centerY, range);
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int k = 0; k < count; k++) {
+            int i = found[k];
+            if (views[i] == exclude) continue;
+            double dx = x[i] - centerX;
+            double dy = y[i] - centerY;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance || (distance == bestDistance && i < best)) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best >= 0 ? views[best] : null;
+    }
+
+    /**
+     * Put the slots of active enemies within range into found; returns how many
+     */
+    private int gatherInRange(double centerX, double centerY, double range) {
+        if (gridDirty) {
+            grid.rebuild(x, y, active, size);
+            gridDirty = false;
+        }
+        double rangeSquared = range * range;
+        int firstColumn = grid.column(centerX - range);
+        int lastColumn = grid.column(centerX + range);
+        int firstRow = grid.row(centerY - range);
+        int lastRow = grid.row(centerY + range);
+
+        int count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * grid.columns + column;
+                for (int k = grid.cellStart[cell]; k < grid.cellStart[cell + 1]; k++) {
+                    int i = grid.cellSlots[k];
+                    if (!active[i]) continue;
+                    double dx = x[i] - centerX;
+                    double dy = y[i] - centerY;
+                    if (dx * dx + dy * dy <= rangeSquared) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = i;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Append every active enemy on a path whose distance lies in one of the given intervals
+     * Intervals are flat [start, end, ...] pairs as from ArcLengthPath.intervalsWithin; enemies come
+     * out by interval, then by distance along the path
+     */
+    public void collectInIntervals(int pathId, double[] intervals, List<Enemy> out) {
+        updateOrder();
+        if (pathId >= order.pathCount()) return;
+        order.collectIn(pathId, intervals, out);
+    }
+
+    /**
+     * Enemy on a path furthest along it within the intervals that passes the filter, or null
+     * O(log n) in the enemies on the path, plus whatever the filter rejects
+     */
+    public Enemy findFurthestInIntervals(int pathId, double[] intervals, Predicate<Enemy> filter) {
+        updateOrder();
+        if (pathId >= order.pathCount()) return null;
+        return order.furthestIn(pathId, intervals, filter);
+    }
+
+    /**
+     * Enemy on a path least far along it within the intervals that passes the filter, or null
+     */
+    public Enemy findLeastInIntervals(int pathId, double[] intervals, Predicate<Enemy> filter) {
+        updateOrder();
+        if (pathId >= order.pathCount()) return null;
+        return order.leastIn(pathId, intervals, filter);
+    }
+
+    /**
+     * Append active enemies within range of a point that follow no path (those collectInIntervals cannot see)
+     */
+    public void collectOffPathInRange(double centerX, double centerY, double range, List<Enemy> out) {
+        updateOrder();
+        if (order.offPath == 0) return;
+        int count = gatherInRange(centerX, centerY, range);
+        for (int k = 0; k < count; k++) {
+            if (pathId[found[k]] < 0) {
+                out.add(views[found[k]]);
+            }
+        }
+    }
+
+    private void updateOrder() {
+        if (orderDirty) {
+            order.update(views, pathId, pathDistance, active, size, pathCount);
+            orderDirty = false;
+        }
+    }
+
+    /**
+     * Reference full scan in slot order, same enemies as collectInRange; for benchmarks and cross-checks
+     */
+    public void collectInRangeLinear(double centerX, double centerY, double range, List<Enemy> out) {
+        double rangeSquared = range * range;
+        for (int i = 0; i < size; i++) {
+            if (!active[i]) continue;
+            double dx = x[i] - centerX;
+            double dy = y[i] - centerY;
+            if (dx * dx + dy * dy <= rangeSquared) {
+                out.add(views[i]);
+            }
+        }
+    }
+
+    // Paths
+
+    /**
+     * Id of a compiled path, registering it if it is new
+     * The level's shared paths match by identity; a path restored inline matches by waypoints
+     */
+    public int internPath(ArcLengthPath path) {
+        for (int id = 0; id < pathCount; id++) {
+            if (paths[id] == path) {
+                return id;
+            }
+        }
+        for (int id = 0; id < pathCount; id++) {
+            if (paths[id].samePoints(path)) {
+                return id;
+            }
+        }
+
+        if (pathCount == paths.length) {
+            paths = Arrays.copyOf(paths, pathCount * 2);
+        }
+        paths[pathCount] = path;
+        return pathCount++;
+    }
+
+    /**
+     * The compiled path behind an id
+     */
+    public ArcLengthPath getPath(int id) {
+        return paths[id];
+    }
+
+    /**
+     * Number of paths interned so far; ids run from 0 to this, exclusive
+     */
+    public int getPathCount() {
+        return pathCount;
+    }
+
+    // Access
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The enemy in a slot; slots are renumbered by release
+     */
+    public Enemy get(int slot) {
+        return views[slot];
+    }
+}
@@ -0,0 +1,238 @@
+package entities.enemies;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Enemies of one store grouped by path and kept sorted by distance along it
+ * An enemy on a path stands at the path's point for its distance, so "within range of a tower"
+ * is "distance inside one of the tower's coverage intervals" (see ArcLengthPath.intervalsWithin),
+ * and a binary search finds where each interval starts and ends.
+ *
+ * The order is maintained, not rebuilt: after enemies moved, each path's list drops the enemies
+ * that left it, takes in the ones that joined (at the front, since they spawn at the start) and is
+ * put back in order with an insertion sort. Enemies on a path mostly keep their order, so that is
+ * a linear pass; a frozen enemy being overtaken costs one shift per enemy that passed it.
+ * Ties are broken by id, so the order depends only on the current state, not on its history
+ * (a world restored from a snapshot orders its enemies the same way). Enemies without a path
+ * are not in here
+ */
+class PathOrder {
+    private Enemy[][] members = new Enemy[0][];
+    private double[][] distance = new double[0][]; // copy of each member's path distance
+    private int[][] ids = new int[0][];
+    private int[] count = new int[0];
+    private Enemy[] joined = new Enemy[16]; // scratch for update
+    int offPath; // active enemies with no path
+
+    int pathCount() {
+        return count.length;
+    }
+
+    /**
+     * Bring the lists up to date with the store's columns for slots [0, size)
+     */
+    void update(Enemy[] views, int[] pathId, double[] pathDistance, boolean[] active, int size, int paths) {
+        if (count.length < paths) {
+            int old = count.length;
+            members = Arrays.copyOf(members, paths);
+            distance = Arrays.copyOf(distance, paths);
+            ids = Arrays.copyOf(ids, paths);
+            count = Arrays.copyOf(count, paths);
+            for (int p = old; p < paths; p++) {
+                members[p] = new Enemy[16];
+                distance[p] = new double[16];
+                ids[p] = new int[16];
+            }
+        }
+
+        // Drop enemies that died, were released or changed path
+        for (int p = 0; p < count.length; p++) {
+            Enemy[] list = members[p];
+            int kept = 0;
+            for (int k = 0; k < count[p]; k++) {
+                Enemy enemy = list[k];
+                int slot = enemy.slot;
+                if (slot >= 0 && slot < size && views[slot] == enemy && active[slot] && pathId[slot] == p) {
+                    list[kept++] = enemy;
+                } else {
+                    enemy.orderPath = -1;
+                }
+            }
+            Arrays.fill(list, kept, count[p], null);
+            count[p] = kept;
+        }
+
+        // Take in enemies that are not listed yet, at the front of their path's list
+        offPath = 0;
+        int joining = 0;
+        for (int i = 0; i < size; i++) {
+            if (!active[i]) continue;
+            if (pathId[i] < 0) {
+                offPath++;
+            } else if (views[i].orderPath != pathId[i]) {
+                if (joining == joined.length) {
+                    joined = Arrays.copyOf(joined, joining * 2);
+                }
+                joined[joining++] = views[i];
+            }
+        }
+        if (joining > 0) {
+            for (int p = 0; p < count.length; p++) {
+                insertAtFront(p, pathId, joining);
+            }
+            Arrays.fill(joined, 0, joining, null);
+        }
+
+        // Refresh the keys and restore the order
+        for (int p = 0; p < count.length; p++) {
+            Enemy[] list = members[p];
+            double[] keys = distance[p];
+            int[] keyIds = ids[p];
+            for (int k = 0; k < count[p]; k++) {
+                keys[k] = pathDistance[list[k].slot];
+                keyIds[k] = list[k].getId();
+            }
+            insertionSort(p);
+        }
+    }
+
+    /**
+     * Move the joining enemies of path p to the front of its list, in one shift
+     */
+    private void insertAtFront(int p, int[] pathId, int joining) {
+        int added = 0;
+        for (int k = 0; k < joining; k++) {
+            if (pathId[joined[k].slot] == p) added++;
+        }
+        if (added == 0) return;
+
+        int n = count[p];
+        if (n + added > members[p].length) {
+            int capacity = Math.max(n + added, members[p].length * 2);
+            members[p] = Arrays.copyOf(members[p], capacity);
+            distance[p] = new double[capacity];
+            ids[p] = new int[capacity];
+        }
+        System.arraycopy(members[p], 0, members[p], added, n);
+        int entry = 0;
+        for (int k = 0; k < joining; k++) {
+            Enemy enemy = joined[k];
+            if (pathId[enemy.slot] == p) {
+                enemy.orderPath = p;
+                members[p][entry++] = enemy;
+            }
+        }
+        count[p] = n + added;
+    }
+
+    /**
+     * Sort path p by (distance, id); linear when the list is nearly sorted already
+     */
+    private void insertionSort(int p) {
+        Enemy[] list = members[p];
+        double[] keys = distance[p];
+        int[] keyIds = ids[p];
+        for (int k = 1; k < count[p]; k++) {
+            double key = keys[k];
+            int id = keyIds[k];
+            if (keys[k - 1] < key || (keys[k - 1] == key && keyIds[k - 1] < id)) continue;
+            Enemy enemy = list[k];
+            int j = k - 1;
+            while (j >= 0 && (keys[j] > key || (keys[j] == key && keyIds[j] > id))) {
+                keys[j + 1] = keys[j];
+                keyIds[j + 1] = keyIds[j];
+                list[j + 1] = list[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            keyIds[j + 1] = id;
+            list[j + 1] = enemy;
+        }
+    }
+
+    /**
+     * First entry of path p at or beyond distance s
+     */
+    int lowerBound(int p, double s) {
+        double[] keys = distance[p];
+        int low = 0;
+        int high = count[p];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < s) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First entry of path p beyond distance s
+     */
+    int upperBound(int p, double s) {
+        double[] keys = distance[p];
+        int low = 0;
+        int high = count[p];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] <= s) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Append the members of path p inside the intervals, by interval, then by distance
+     */
+    void collectIn(int p, double[] intervals, List<Enemy> out) {
+        Enemy[] list = members[p];
+        for (int k = 0; k + 1 < intervals.length; k += 2) {
+            int end = upperBound(p, intervals[k + 1]);
+            for (int entry = lowerBound(p, intervals[k]); entry < end; entry++) {
+                out.add(list[entry]);
+            }
+        }
+    }
+
+    /**
+     * Member of path p furthest along inside the intervals that is still active and passes the filter
+     * Walks down from the end of the last interval, so it costs a binary search plus the enemies skipped
+     */
+    Enemy furthestIn(int p, double[] intervals, Predicate<Enemy> filter) {
+        Enemy[] list = members[p];
+        for (int k = intervals.length - 2; k >= 0; k -= 2) {
+            int start = lowerBound(p, intervals[k]);
+            for (int entry = upperBound(p, intervals[k + 1]) - 1; entry >= start; entry--) {
+                Enemy enemy = list[entry];
+                if (enemy.isActive() && filter.test(enemy)) {
+                    return enemy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Member of path p least far along inside the intervals that is still active and passes the filter
+     */
+    Enemy leastIn(int p, double[] intervals, Predicate<Enemy> filter) {
+        Enemy[] list = members[p];
+        for (int k = 0; k + 1 < intervals.length; k += 2) {
+            int end = upperBound(p, intervals[k + 1]);
+            for (int entry = lowerBound(p, intervals[k]); entry < end; entry++) {
+                Enemy enemy = list[entry];
+                if (enemy.isActive() && filter.test(enemy)) {
+                    return enemy;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,22 +1,40 @@
 package entities.projectiles;
 
+import core.GameState;
 import entities.enemies.Enemy;
 import entities.enemies.DamageType;
 import utils.Vector2D;
-import java.awt.Color;
 
 /**
  * Arrow projectile for archer towers
  */
 public class ArrowProjectile extends Projectile {
     
-    public ArrowProjectile(double startX, double startY, Enemy target, int damage, DamageType damageType, Color color) {
-        super(new Vector2D(startX, startY), target.getPosition(), damage, 200.0);
-        this.target = target;
+    public ArrowProjectile(GameState world, double startX, double startY, Enemy target, int damage, DamageType damageType, int color) {
+        super(world, new Vector2D(startX, startY), target.getPosition(), damage, 200.0);
+        setTarget(target);
         this.color = color;
         this.size = 3;
     }
     
+    /**
+     * Fire this arrow (fresh or taken from the ProjectilePool) at a target
+     */
+    public void launch(double startX, double startY, Enemy target, int damage, int color) {
+        launch(startX, startY, target.getX(), target.getY(), damage, 200.0);
+        setTarget(target);
+        this.color = color;
+        this.size = 3;
+    }
+    
+    /**
+     * Blank arrow for restoring a snapshot; readState fills it in
+     */
+    public ArrowProjectile(GameState world) {
+        super(world, new Vector2D(0, 0), new Vector2D(1, 0), 0, 200.0);
+        this.size = 3;
+    }
+    
     @Override
     protected void onHit(Enemy enemy) {
         enemy.takeDamage(damage, DamageType.PHYSICAL);
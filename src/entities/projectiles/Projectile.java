@@ -3,9 +3,12 @@ package entities.projectiles;
 import core.GameObject;
 import entities.enemies.Enemy;
 import core.GameState;
+import core.Sprite;
 import utils.Vector2D;
-import java.awt.Graphics2D;
-import java.awt.Color;
+import utils.Rgb;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Base class for all projectiles
@@ -15,45 +18,89 @@ public abstract class Projectile extends GameObject {
     protected int damage;
     protected double speed;
     protected Enemy target;
+    private int targetId; // ID the target had when aimed at; a pooled enemy comes back with a new one
     protected Vector2D targetPosition;
     protected double maxRange;
     protected double distanceTraveled;
-    protected Color color;
+    protected int color; // packed RGB, see utils.Rgb
     protected int size;
     
-    public Projectile(Vector2D startPos, Vector2D targetPos, int damage, double speed) {
-        super(startPos.x, startPos.y);
-        this.targetPosition = new Vector2D(targetPos);
+    public Projectile(GameState world, Vector2D startPos, Vector2D targetPos, int damage, double speed) {
+        super(world, startPos.x, startPos.y);
+        this.targetPosition = new Vector2D();
+        this.velocity = new Vector2D();
+        this.size = 4;
+        this.color = Rgb.BLACK;
+        launch(startPos.x, startPos.y, targetPos.x, targetPos.y, damage, speed);
+    }
+    
+    /**
+     * Reset the flight state from a start point towards a target point
+     * Shared by the constructor and by pooled projectiles being fired again
+     */
+    protected void launch(double startX, double startY, double targetX, double targetY, int damage, double speed) {
+        position.set(startX, startY);
+        previousPosition.set(startX, startY);
+        targetPosition.set(targetX, targetY);
         this.damage = damage;
         this.speed = speed;
         this.maxRange = 300.0;
         this.distanceTraveled = 0.0;
-        this.size = 4;
-        this.color = Color.BLACK;
+        setTarget(null);
         
         // Calculate initial velocity
-        Vector2D direction = targetPosition.subtract(position).normalize();
-        this.velocity = direction.multiply(speed);
+        aimAt(targetX, targetY);
+    }
+    
+    /**
+     * Called by the pool when this projectile is acquired again
+     */
+    void renew() {
+        recycle();
+    }
+    
+    /**
+     * Called by the pool on release, so a parked projectile keeps no enemy alive
+     */
+    void clearReferences() {
+        setTarget(null);
+    }
+    
+    /**
+     * Target is still the same live enemy it was aimed at
+     */
+    protected boolean hasLiveTarget() {
+        return target != null && target.isActive() && target.getId() == targetId;
+    }
+    
+    /**
+     * Point the velocity at a spot at full speed, in place
+     */
+    private void aimAt(double aimX, double aimY) {
+        velocity.set(aimX - position.x, aimY - position.y);
+        velocity.normalizeInPlace().multiplyInPlace(speed);
     }
     
     @Override
     protected void updateLogic(double deltaTime) {
         // Home towards target if available
-        if (target != null && target.isActive()) {
-            Vector2D directionToTarget = target.getPosition().subtract(position).normalize();
-            this.velocity = directionToTarget.multiply(speed);
-            this.targetPosition = target.getPosition();
+        if (hasLiveTarget()) {
+            double targetX = target.getX();
+            double targetY = target.getY();
+            aimAt(targetX, targetY);
+            targetPosition.set(targetX, targetY);
         }
         
         // Move projectile
-        Vector2D movement = velocity.multiply(deltaTime);
-        position = position.add(movement);
-        distanceTraveled += movement.magnitude();
+        double moveX = velocity.x * deltaTime;
+        double moveY = velocity.y * deltaTime;
+        position.addInPlace(moveX, moveY);
+        distanceTraveled += Math.sqrt(moveX * moveX + moveY * moveY);
         // Debug movement occasionally
         // System.out.println("[PROJ][Move] id=" + getId() + " pos=" + position + " dist=" + String.format("%.1f", distanceTraveled));
         
         // Check if projectile should be destroyed
-        boolean outOfRange = (target == null || !target.isActive()) && distanceTraveled >= maxRange;
+        boolean outOfRange = !hasLiveTarget() && distanceTraveled >= maxRange;
         if (outOfRange || shouldDestroy()) {
             System.out.println("[PROJ][Destroy] id=" + getId() + " reason=" + (distanceTraveled >= maxRange ? "range" : "custom"));
             destroy();
@@ -61,8 +108,8 @@ public abstract class Projectile extends GameObject {
         }
         
         // Check for collision with target
-        if (target != null && target.isActive()) {
-            if (position.distanceTo(target.getPosition()) <= size + 6) {
+        if (hasLiveTarget()) {
+            if (distanceSquaredTo(target) <= hitRadiusSquared()) {
                 onHit(target);
                 System.out.println("[PROJ][HitTarget] proj=" + getId() + " enemy=" + target.getId() + " dmg=" + damage);
                 destroy();
@@ -84,11 +131,8 @@ public abstract class Projectile extends GameObject {
     }
     
     @Override
-    protected void draw(Graphics2D g2d) {
-        g2d.setColor(color);
-        int x = (int) (position.x - size / 2);
-        int y = (int) (position.y - size / 2);
-        g2d.fillOval(x, y, size, size);
+    public Sprite createSprite() {
+        return new ProjectileSprite(this, previousPosition, position);
     }
     
     /**
@@ -107,12 +151,48 @@ public abstract class Projectile extends GameObject {
      * Check collision with all enemies
      */
     protected Enemy checkCollisionWithEnemies() {
-        for (Enemy enemy : GameState.getInstance().getEnemies()) {
-            if (enemy.isActive() && position.distanceTo(enemy.getPosition()) <= size + 6) {
-                return enemy;
-            }
-        }
-        return null;
+        // Grid query over the enemy store instead of a scan of every enemy
+        return world.getEnemyStore().findFirstInRange(position.x, position.y, size + 6);
+    }
+    
+    private double hitRadiusSquared() {
+        double radius = size + 6;
+        return radius * radius;
+    }
+    
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeDouble(velocity.x);
+        out.writeDouble(velocity.y);
+        out.writeInt(damage);
+        out.writeDouble(speed);
+        // A dead target behaves exactly like no target
+        out.writeInt(hasLiveTarget() ? target.getId() : 0);
+        out.writeDouble(targetPosition.x);
+        out.writeDouble(targetPosition.y);
+        out.writeDouble(maxRange);
+        out.writeDouble(distanceTraveled);
+        out.writeInt(color);
+        out.writeInt(size);
+    }
+    
+    /**
+     * Restore projectile state; enemies must already be restored so the target can be resolved
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        velocity.set(in.readDouble(), in.readDouble());
+        damage = in.readInt();
+        speed = in.readDouble();
+        int savedTargetId = in.readInt();
+        setTarget(savedTargetId != 0 ? world.findEnemy(savedTargetId) : null);
+        targetPosition.set(in.readDouble(), in.readDouble());
+        maxRange = in.readDouble();
+        distanceTraveled = in.readDouble();
+        color = in.readInt();
+        size = in.readInt();
     }
     
     // Getters
@@ -126,6 +206,7 @@ public abstract class Projectile extends GameObject {
     
     public void setTarget(Enemy target) {
         this.target = target;
+        this.targetId = target != null ? target.getId() : 0;
     }
 }
 
@@ -0,0 +1,98 @@
+package entities.projectiles;
+
+import core.GameState;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Recycles projectiles for one world, with a free list per projectile class
+ * A projectile is acquired when fired and released once the world has dropped it from its
+ * entity list (at end-of-tick cleanup), never at destroy() time while it may still be iterated.
+ * Every acquire allocates exactly one entity ID, hit or miss, so ID sequences do not depend on pool state
+ */
+public class ProjectilePool {
+    private final GameState world;
+    private final Map<Class<? extends Projectile>, ArrayDeque<Projectile>> free;
+
+    // Stats
+    private long acquired;
+    private long hits;
+    private int inUse;
+    private int highWaterMark;
+
+    public ProjectilePool(GameState world) {
+        this.world = world;
+        this.free = new HashMap<>();
+    }
+
+    /**
+     * Take a projectile of the given class, reusing a released one when possible
+     * The result is active with a fresh ID; the caller launches it (or restores it with readState)
+     * @param blank creates a new blank projectile when the free list is empty
+     */
+    public <T extends Projectile> T acquire(Class<T> type, Function<GameState, T> blank) {
+        acquired++;
+        ArrayDeque<Projectile> list = free.get(type);
+        T projectile;
+        if (list != null && !list.isEmpty()) {
+            hits++;
+            projectile = type.cast(list.pop());
+            projectile.renew();
+        } else {
+            projectile = blank.apply(world);
+        }
+        inUse++;
+        if (inUse > highWaterMark) {
+            highWaterMark = inUse;
+        }
+        return projectile;
+    }
+
+    /**
+     * Return a projectile that is no longer in the world
+     */
+    public void release(Projectile projectile) {
+        projectile.clearReferences();
+        free.computeIfAbsent(projectile.getClass(), type -> new ArrayDeque<>()).push(projectile);
+        if (inUse > 0) {
+            inUse--;
+        }
+    }
+
+    // Stats
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Fraction of acquires served from the free lists
+     */
+    public double getHitRate() {
+        return acquired == 0 ? 0.0 : (double) hits / acquired;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Most projectiles out of the pool at once
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public int getFreeCount() {
+        int count = 0;
+        for (ArrayDeque<Projectile> list : free.values()) {
+            count += list.size();
+        }
+        return count;
+    }
+}
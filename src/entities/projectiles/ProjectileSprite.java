@@ -0,0 +1,36 @@
+package entities.projectiles;
+
+import core.Sprite;
+import utils.Vector2D;
+import java.awt.Graphics2D;
+import java.awt.Color;
+
+/**
+ * Immutable render snapshot of a projectile
+ */
+public final class ProjectileSprite implements Sprite {
+    private final double previousX, previousY;
+    private final double x, y;
+    private final int size;
+    private final int color;
+    
+    ProjectileSprite(Projectile projectile, Vector2D previous, Vector2D current) {
+        this.previousX = previous.x;
+        this.previousY = previous.y;
+        this.x = current.x;
+        this.y = current.y;
+        this.size = projectile.size;
+        this.color = projectile.color;
+    }
+    
+    @Override
+    public void draw(Graphics2D g2d, double alpha) {
+        double drawX = previousX + (x - previousX) * alpha;
+        double drawY = previousY + (y - previousY) * alpha;
+        
+        g2d.setColor(new Color(color));
+        int left = (int) (drawX - size / 2);
+        int top = (int) (drawY - size / 2);
+        g2d.fillOval(left, top, size, size);
+    }
+}
@@ -1,8 +1,10 @@
 package entities.towers;
 
+import core.GameState;
+import core.TowerType;
 import entities.enemies.Enemy;
 //import entities.projectiles.*;
-import java.awt.Color;
+import utils.Rgb;
 
 /**
  * Archer Tower - Basic physical damage tower
@@ -10,8 +12,8 @@ import java.awt.Color;
  */
 public class ArcherTower extends Tower {
     
-    public ArcherTower(double x, double y) {
-        super(x, y, 15, 80.0, 2.0, new Color(139, 69, 19)); // Brown color
+    public ArcherTower(GameState world, double x, double y) {
+        super(world, x, y, 15, 80.0, 2.0, Rgb.of(139, 69, 19)); // Brown color
         this.upgradeCost = 25;
     }
     
@@ -27,19 +29,19 @@ public class ArcherTower extends Tower {
             case 2:
                 damage += 8;
                 fireRate += 0.5;
-                color = new Color(160, 82, 45); // Lighter brown
+                color = Rgb.of(160, 82, 45); // Lighter brown
                 break;
             case 3:
                 damage += 12;
                 range += 20;
                 fireRate += 0.5;
-                color = new Color(210, 180, 140); // Tan
+                color = Rgb.of(210, 180, 140); // Tan
                 break;
             case 4:
                 damage += 20;
                 fireRate += 1.0;
                 range += 30;
-                color = new Color(255, 215, 0); // Gold
+                color = Rgb.of(255, 215, 0); // Gold
                 break;
         }
         upgradeCost = (int) (upgradeCost * 1.5);
@@ -55,5 +57,8 @@ public class ArcherTower extends Tower {
         return 50;
     }
     
-
+    @Override
+    public TowerType getTowerType() {
+        return TowerType.ARCHER;
+    }
 }
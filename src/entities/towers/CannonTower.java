@@ -1,16 +1,20 @@
 package entities.towers;
 
+import core.GameState;
+import core.TowerType;
 import entities.enemies.Enemy;
 import entities.enemies.DamageType;
-import java.awt.Color;
+import utils.Rgb;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Cannon Tower - High damage, slow firing, splash damage
  */
 public class CannonTower extends Tower {
     
-    public CannonTower(double x, double y) {
-        super(x, y, 40, 70.0, 0.5, Color.DARK_GRAY);
+    public CannonTower(GameState world, double x, double y) {
+        super(world, x, y, 40, 70.0, 0.5, Rgb.DARK_GRAY);
         this.upgradeCost = 75;
         this.size = 25; // Larger than archer tower
     }
@@ -23,10 +27,10 @@ public class CannonTower extends Tower {
     
     @SuppressWarnings("unused")
     private void applySplashDamage(utils.Vector2D center, int damage, double radius) {
-        for (Enemy enemy : getCurrentEnemies()) {
-            if (enemy.isActive() && center.distanceTo(enemy.getPosition()) <= radius) {
-                enemy.takeDamage(damage, DamageType.PHYSICAL);
-            }
+        List<Enemy> splashed = new ArrayList<>();
+        world.getEnemyStore().collectInRange(center.x, center.y, radius, splashed);
+        for (Enemy enemy : splashed) {
+            enemy.takeDamage(damage, DamageType.PHYSICAL);
         }
     }
     
@@ -36,19 +40,19 @@ public class CannonTower extends Tower {
             case 2:
                 damage += 20;
                 fireRate += 0.2;
-                color = new Color(105, 105, 105); // Dim gray
+                color = Rgb.of(105, 105, 105); // Dim gray
                 break;
             case 3:
                 damage += 30;
                 range += 15;
                 fireRate += 0.2;
-                color = new Color(169, 169, 169); // Dark gray
+                color = Rgb.of(169, 169, 169); // Dark gray
                 break;
             case 4:
                 damage += 50;
                 fireRate += 0.3;
                 range += 25;
-                color = new Color(192, 192, 192); // Silver
+                color = Rgb.of(192, 192, 192); // Silver
                 break;
         }
         upgradeCost = (int) (upgradeCost * 1.6);
@@ -63,4 +67,9 @@ public class CannonTower extends Tower {
     public int getBaseCost() {
         return 120;
     }
+    
+    @Override
+    public TowerType getTowerType() {
+        return TowerType.CANNON;
+    }
 }
@@ -1,16 +1,18 @@
 package entities.towers;
 
+import core.GameState;
+import core.TowerType;
 import entities.enemies.Enemy;
 //import entities.enemies.DamageType;
-import java.awt.Color;
+import utils.Rgb;
 
 /**
  * Ice Tower - Slows enemies, ice damage
  */
 public class IceTower extends Tower {
     
-    public IceTower(double x, double y) {
-        super(x, y, 20, 75.0, 1.5, new Color(173, 216, 230)); // Light blue
+    public IceTower(GameState world, double x, double y) {
+        super(world, x, y, 20, 75.0, 1.5, Rgb.of(173, 216, 230)); // Light blue
         this.upgradeCost = 45;
     }
     
@@ -28,19 +30,19 @@ public class IceTower extends Tower {
             case 2:
                 damage += 8;
                 fireRate += 0.3;
-                color = new Color(135, 206, 235); // Sky blue
+                color = Rgb.of(135, 206, 235); // Sky blue
                 break;
             case 3:
                 damage += 12;
                 range += 15;
                 fireRate += 0.4;
-                color = new Color(100, 149, 237); // Cornflower blue
+                color = Rgb.of(100, 149, 237); // Cornflower blue
                 break;
             case 4:
                 damage += 18;
                 fireRate += 0.5;
                 range += 25;
-                color = new Color(65, 105, 225); // Royal blue
+                color = Rgb.of(65, 105, 225); // Royal blue
                 break;
         }
         upgradeCost = (int) (upgradeCost * 1.3);
@@ -55,4 +57,9 @@ public class IceTower extends Tower {
     public int getBaseCost() {
         return 70;
     }
+    
+    @Override
+    public TowerType getTowerType() {
+        return TowerType.ICE;
+    }
 }
@@ -1,16 +1,18 @@
 package entities.towers;
 
+import core.GameState;
+import core.TowerType;
 import entities.enemies.Enemy;
 import entities.enemies.DamageType;
-import java.awt.Color;
+import utils.Rgb;
 
 /**
  * Lightning Tower - Chain lightning, magical damage
  */
 public class LightningTower extends Tower {
     
-    public LightningTower(double x, double y) {
-        super(x, y, 25, 90.0, 1.2, new Color(255, 255, 0)); // Yellow
+    public LightningTower(GameState world, double x, double y) {
+        super(world, x, y, 25, 90.0, 1.2, Rgb.of(255, 255, 0)); // Yellow
         this.upgradeCost = 60;
     }
     
@@ -29,20 +31,8 @@ public class LightningTower extends Tower {
             currentTarget.takeDamage(currentDamage, DamageType.MAGICAL);
             
             // Find next target (closest enemy within chain range)
-            Enemy nextTarget = null;
-            double closestDistance = Double.MAX_VALUE;
-            
-            for (Enemy enemy : getCurrentEnemies()) {
-                if (enemy != currentTarget && enemy.isActive()) {
-                    double distance = currentTarget.getPosition().distanceTo(enemy.getPosition());
-                    if (distance <= 40.0 && distance < closestDistance) {
-                        nextTarget = enemy;
-                        closestDistance = distance;
-                    }
-                }
-            }
-            
-            currentTarget = nextTarget;
+            currentTarget = world.getEnemyStore().findNearestInRange(
+                currentTarget.getX(), currentTarget.getY(), 40.0, currentTarget);
             currentDamage = (int) (currentDamage * 0.7); // Damage decreases with each chain
         }
     }
@@ -53,19 +43,19 @@ public class LightningTower extends Tower {
             case 2:
                 damage += 10;
                 fireRate += 0.3;
-                color = new Color(255, 255, 102); // Light yellow
+                color = Rgb.of(255, 255, 102); // Light yellow
                 break;
             case 3:
                 damage += 15;
                 range += 20;
                 fireRate += 0.4;
-                color = new Color(255, 255, 153); // Lighter yellow
+                color = Rgb.of(255, 255, 153); // Lighter yellow
                 break;
             case 4:
                 damage += 25;
                 fireRate += 0.5;
                 range += 30;
-                color = new Color(255, 215, 0); // Gold
+                color = Rgb.of(255, 215, 0); // Gold
                 break;
         }
         upgradeCost = (int) (upgradeCost * 1.4);
@@ -80,4 +70,9 @@ public class LightningTower extends Tower {
     public int getBaseCost() {
         return 85;
     }
+    
+    @Override
+    public TowerType getTowerType() {
+        return TowerType.LIGHTNING;
+    }
 }
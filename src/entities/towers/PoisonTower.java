@@ -1,16 +1,18 @@
 package entities.towers;
 
+import core.GameState;
+import core.TowerType;
 import entities.enemies.Enemy;
 //import entities.enemies.DamageType;
-import java.awt.Color;
+import utils.Rgb;
 
 /**
  * Poison Tower - Damage over time, poison effects
  */
 public class PoisonTower extends Tower {
     
-    public PoisonTower(double x, double y) {
-        super(x, y, 15, 65.0, 1.0, new Color(128, 255, 0)); // Lime green
+    public PoisonTower(GameState world, double x, double y) {
+        super(world, x, y, 15, 65.0, 1.0, Rgb.of(128, 255, 0)); // Lime green
         this.upgradeCost = 55;
     }
     
@@ -28,19 +30,19 @@ public class PoisonTower extends Tower {
             case 2:
                 damage += 6;
                 fireRate += 0.2;
-                color = new Color(154, 205, 50); // Yellow green
+                color = Rgb.of(154, 205, 50); // Yellow green
                 break;
             case 3:
                 damage += 10;
                 range += 10;
                 fireRate += 0.3;
-                color = new Color(107, 142, 35); // Olive drab
+                color = Rgb.of(107, 142, 35); // Olive drab
                 break;
             case 4:
                 damage += 15;
                 fireRate += 0.4;
                 range += 20;
-                color = new Color(85, 107, 47); // Dark olive green
+                color = Rgb.of(85, 107, 47); // Dark olive green
                 break;
         }
         upgradeCost = (int) (upgradeCost * 1.4);
@@ -55,4 +57,9 @@ public class PoisonTower extends Tower {
     public int getBaseCost() {
         return 90;
     }
+    
+    @Override
+    public TowerType getTowerType() {
+        return TowerType.POISON;
+    }
 }
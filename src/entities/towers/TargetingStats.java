@@ -0,0 +1,60 @@
+package entities.towers;
+
+/**
+ * Counts how the towers of one world picked their targets
+ * A scan is a full run of the targeting strategy over the enemies in range; a lock hit is a shot
+ * at the target kept from an earlier scan (see GameState.setTargetLockInterval), so every lock hit
+ * is one scan saved
+ */
+public class TargetingStats {
+    private long scans;
+    private long emptyScans;
+    private long lockHits;
+    private long lockLosses;
+
+    void recordScan(boolean found) {
+        scans++;
+        if (!found) {
+            emptyScans++;
+        }
+    }
+
+    void recordLockHit() {
+        lockHits++;
+    }
+
+    void recordLockLoss() {
+        lockLosses++;
+    }
+
+    // Stats
+    public long getScans() {
+        return scans;
+    }
+
+    /**
+     * Scans that found nothing to shoot; a ready tower with nothing in range scans every tick
+     */
+    public long getEmptyScans() {
+        return emptyScans;
+    }
+
+    public long getLockHits() {
+        return lockHits;
+    }
+
+    /**
+     * Locked targets dropped before the re-evaluation interval: died, left range or was recycled
+     */
+    public long getLockLosses() {
+        return lockLosses;
+    }
+
+    /**
+     * Fraction of target picks served by a lock instead of a scan
+     */
+    public double getLockHitRate() {
+        long picks = scans + lockHits;
+        return picks == 0 ? 0.0 : (double) lockHits / picks;
+    }
+}
@@ -1,18 +1,26 @@
 package entities.towers;
 
 import core.GameObject;
+import core.EnemyType;
 import core.GameState;
+import core.Sprite;
+import core.TowerType;
 import entities.enemies.Enemy;
 import entities.enemies.DamageType;
+import entities.enemies.EnemyStore;
 import entities.projectiles.Projectile;
 import entities.projectiles.ArrowProjectile;
 import patterns.strategies.TargetingStrategy;
 import patterns.strategies.FirstTargetingStrategy;
+import utils.ArcLengthPath;
 //import utils.Vector2D;
-import java.awt.Graphics2D;
-import java.awt.Color;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Predicate;
 
 /**
  * Abstract base class for all towers
@@ -24,8 +32,10 @@ public abstract class Tower extends GameObject {
     protected double fireRate; // shots per second
     protected double timeSinceLastShot;
     protected TargetingStrategy targetingStrategy;
-    protected Enemy currentTarget;
-    protected Color color;
+    protected Enemy currentTarget; // locked target, see GameState.setTargetLockInterval
+    private int currentTargetId; // ID the target had when locked; a pooled enemy comes back with a new one
+    private double timeSinceRetarget;
+    protected int color; // packed RGB, see utils.Rgb
     protected int size;
     protected int level;
     protected int upgradeCost;
@@ -40,8 +50,17 @@ public abstract class Tower extends GameObject {
     protected int totalKills;
     protected int totalDamageDealt;
     
-    public Tower(double x, double y, int damage, double range, double fireRate, Color color) {
-        super(x, y);
+    // Scratch list for range scans, reused every attack attempt
+    private final List<Enemy> enemiesInRange = new ArrayList<>();
+    private final Predicate<Enemy> targetable = this::canTarget;
+    
+    // Stretches of each path within range (see ArcLengthPath.intervalsWithin)
+    // Towers do not move, so only placing or upgrading changes these
+    private ArcLengthPath[] coveredPaths = new ArcLengthPath[0];
+    private double[][] coverage = new double[0][];
+    
+    public Tower(GameState world, double x, double y, int damage, double range, double fireRate, int color) {
+        super(world, x, y);
         this.damage = damage;
         this.range = range;
         this.fireRate = fireRate;
@@ -69,6 +88,7 @@ public abstract class Tower extends GameObject {
         if (isDestroyed) return;
         
         timeSinceLastShot += deltaTime;
+        timeSinceRetarget += deltaTime;
         
         // Try to attack if ready
         if (canAttack()) {
@@ -82,56 +102,70 @@ public abstract class Tower extends GameObject {
     }
     
     @Override
-    protected void draw(Graphics2D g2d) {
-        // Draw tower as colored rectangle
-        if (isDestroyed) {
-            g2d.setColor(Color.GRAY);
+    public Sprite createSprite() {
+        return new TowerSprite(this, position);
+    }
+    
+    /**
+     * Template method for attack sequence
+     */
+    public final void attemptAttack() {
+        Enemy target = lockedTarget();
+        if (target != null) {
+            world.getTargetingStats().recordLockHit();
         } else {
-            g2d.setColor(color);
+            target = targetingStrategy.selectTarget(this);
+            world.getTargetingStats().recordScan(target != null);
+            lockOn(target);
         }
-        int x = (int) (position.x - size / 2);
-        int y = (int) (position.y - size / 2);
-        g2d.fillRect(x, y, size, size);
-        
-        // Draw border
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(x, y, size, size);
-        
-        // Draw level indicator
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(String.valueOf(level), x + 2, y + size - 2);
-        
-        // Draw health bar
-        drawHealthBar(g2d);
-        
-        // Draw range indicator if tower is selected
-        if (isSelected()) {
-            drawRange(g2d);
+        if (target != null) {
+            System.out.println("[FIRE][Tower] id=" + getId() + " type=" + getClass().getSimpleName() +
+                " -> enemy id=" + target.getId());
+            performAttack(target);
+            timeSinceLastShot = 0.0;
         }
     }
     
     /**
-     * Template method for attack sequence
+     * Target kept from the last scan, or null when a new scan is due
+     * A lock holds while the target is alive, in range and targetable, until the world's
+     * re-evaluation interval has passed; with no interval set there is never a lock
      */
-    public final void attemptAttack() {
-        List<Enemy> enemiesInRange = getEnemiesInRange();
-        if (!enemiesInRange.isEmpty()) {
-            Enemy target = targetingStrategy.selectTarget(enemiesInRange, this);
-            if (target != null) {
-                System.out.println("[FIRE][Tower] id=" + getId() + " type=" + getClass().getSimpleName() +
-                    " -> enemy id=" + target.getId());
-                performAttack(target);
-                timeSinceLastShot = 0.0;
-            }
+    private Enemy lockedTarget() {
+        double interval = world.getTargetLockInterval();
+        if (interval <= 0 || currentTargetId == 0) {
+            return null;
         }
+        if (currentTarget == null) {
+            // Restored from a snapshot, which keeps only the ID; enemies are restored after towers
+            currentTarget = world.findEnemy(currentTargetId);
+        }
+        if (timeSinceRetarget >= interval) {
+            lockOn(null);
+            return null;
+        }
+        if (currentTarget == null || !currentTarget.isActive() || currentTarget.getId() != currentTargetId
+                || !isInRange(currentTarget) || !canTarget(currentTarget)) {
+            world.getTargetingStats().recordLockLoss();
+            lockOn(null);
+            return null;
+        }
+        return currentTarget;
+    }
+    
+    private void lockOn(Enemy target) {
+        currentTarget = target;
+        currentTargetId = target != null ? target.getId() : 0;
+        timeSinceRetarget = 0.0;
     }
     
     /**
      * Fire a projectile at the target
      */
     protected void fireProjectile(Enemy target, int damage, DamageType damageType) {
-        Projectile projectile = new ArrowProjectile(position.x, position.y, target, damage, damageType, color);
-        GameState.getInstance().fireProjectile(projectile);
+        ArrowProjectile projectile = world.getProjectilePool().acquire(ArrowProjectile.class, ArrowProjectile::new);
+        projectile.launch(position.x, position.y, target, damage, color);
+        world.fireProjectile(projectile);
         System.out.println("[FIRE][Projectile] tower=" + getId() + " proj=" + projectile.getId() +
             " target=" + target.getId() + " dmg=" + damage + " type=" + damageType);
     }
@@ -144,86 +178,147 @@ public abstract class Tower extends GameObject {
     /**
      * Check if tower can attack (cooldown ready)
      */
-    protected boolean canAttack() {
+    public boolean canAttack() {
         return timeSinceLastShot >= (1.0 / fireRate);
     }
     
     /**
      * Get all enemies within range
+     * The returned list is reused by the next call, so do not keep it
      */
-    protected List<Enemy> getEnemiesInRange() {
-        List<Enemy> enemiesInRange = new ArrayList<>();
-        List<Enemy> allEnemies = getCurrentEnemies(); // This will be provided by game state
-        
-        for (Enemy enemy : allEnemies) {
-            if (enemy != null && enemy.isActive() && isInRange(enemy) && canTarget(enemy)) {
-                enemiesInRange.add(enemy);
+    public List<Enemy> getEnemiesInRange() {
+        enemiesInRange.clear();
+        // Enemies on a path are in range iff their distance along it is inside this tower's coverage
+        EnemyStore store = world.getEnemyStore();
+        for (int id = 0; id < store.getPathCount(); id++) {
+            store.collectInIntervals(id, coverageOf(store.getPath(id)), enemiesInRange);
+        }
+        store.collectOffPathInRange(position.x, position.y, range, enemiesInRange);
+        // Compact in place rather than removeIf, which allocates a capturing lambda each call
+        int kept = 0;
+        for (int i = 0; i < enemiesInRange.size(); i++) {
+            Enemy enemy = enemiesInRange.get(i);
+            if (canTarget(enemy)) {
+                enemiesInRange.set(kept++, enemy);
             }
         }
-        
+        while (enemiesInRange.size() > kept) {
+            enemiesInRange.remove(enemiesInRange.size() - 1);
+        }
         return enemiesInRange;
     }
     
     /**
-     * Check if enemy is within attack range
+     * Targetable enemy in range with the highest path progress (nearest its end, as a fraction), or null
      */
-    protected boolean isInRange(Enemy enemy) {
-        return position.distanceTo(enemy.getPosition()) <= range;
+    public Enemy findMostAdvancedInRange() {
+        return findAlongPaths(true, false);
     }
     
     /**
-     * Check if this tower can target the given enemy
+     * Targetable enemy in range with the lowest path progress, or null
      */
-    protected boolean canTarget(Enemy enemy) {
-        // Basic implementation - subclasses can override for special targeting rules
-        return canTargetFlying || !isFlying(enemy);
+    public Enemy findLeastAdvancedInRange() {
+        return findAlongPaths(false, false);
     }
     
     /**
-     * Check if enemy is flying (simplified check based on enemy type)
+     * Targetable enemy in range with the least distance left to the end of its path, or null
+     * Differs from the most advanced one when paths have different lengths
      */
-    protected boolean isFlying(Enemy enemy) {
-        // This is a simplified implementation
-        // In a real game, you might have an interface or property for flying enemies
-        return enemy.getClass().getSimpleName().contains("Flying");
+    public Enemy findClosestToExitInRange() {
+        return findAlongPaths(true, true);
     }
     
     /**
-     * Draw the tower's range circle
+     * Best candidate of each path from the store's path ordering (a binary search per coverage
+     * interval), then the best of those; enemies off any path are checked one by one
      */
-    protected void drawRange(Graphics2D g2d) {
-        g2d.setColor(new Color(255, 255, 255, 50)); // Semi-transparent white
-        int diameter = (int) (range * 2);
-        int x = (int) (position.x - range);
-        int y = (int) (position.y - range);
-        g2d.fillOval(x, y, diameter, diameter);
+    private Enemy findAlongPaths(boolean ahead, boolean byDistanceToExit) {
+        EnemyStore store = world.getEnemyStore();
+        Enemy best = null;
+        double bestScore = 0.0;
+        for (int id = 0; id < store.getPathCount(); id++) {
+            double[] intervals = coverageOf(store.getPath(id));
+            if (intervals.length == 0) continue;
+            Enemy candidate = ahead
+                ? store.findFurthestInIntervals(id, intervals, targetable)
+                : store.findLeastInIntervals(id, intervals, targetable);
+            if (candidate == null) continue;
+            double score = byDistanceToExit ? -candidate.getDistanceToExit() : candidate.getPathProgress();
+            if (best == null || (ahead ? score > bestScore : score < bestScore)) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
         
-        g2d.setColor(Color.WHITE);
-        g2d.drawOval(x, y, diameter, diameter);
+        enemiesInRange.clear();
+        store.collectOffPathInRange(position.x, position.y, range, enemiesInRange);
+        for (int i = 0; i < enemiesInRange.size(); i++) {
+            Enemy candidate = enemiesInRange.get(i);
+            if (!candidate.isActive() || !canTarget(candidate)) continue;
+            double score = byDistanceToExit ? -candidate.getDistanceToExit() : candidate.getPathProgress();
+            if (best == null || (ahead ? score > bestScore : score < bestScore)) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        enemiesInRange.clear();
+        return best;
     }
     
     /**
-     * Draw health bar above the tower
+     * Recompute which stretches of the level's paths lie within range
+     * Called when the tower is placed and whenever its range changes
      */
-    protected void drawHealthBar(Graphics2D g2d) {
-        // Always show health bar for better visibility
-        int barWidth = size;
-        int barHeight = 4;
-        int x = (int) (position.x - barWidth / 2);
-        int y = (int) (position.y - size / 2 - barHeight - 2);
-        
-        // Background
-        g2d.setColor(Color.RED);
-        g2d.fillRect(x, y, barWidth, barHeight);
-        
-        // Health
-        g2d.setColor(Color.GREEN);
-        int healthWidth = (int) (barWidth * ((double) currentHealth / maxHealth));
-        g2d.fillRect(x, y, healthWidth, barHeight);
-        
-        // Border
-        g2d.setColor(Color.BLACK);
-        g2d.drawRect(x, y, barWidth, barHeight);
+    public void updateCoverage() {
+        int pathCount = world.getEnemyPathCount();
+        coveredPaths = new ArcLengthPath[pathCount];
+        coverage = new double[pathCount][];
+        for (int i = 0; i < pathCount; i++) {
+            coveredPaths[i] = world.getCompiledEnemyPath(i);
+            coverage[i] = coveredPaths[i].intervalsWithin(position.x, position.y, range);
+        }
+    }
+    
+    /**
+     * Coverage intervals on a path; paths other than the level's (restored inline) are added on first use
+     */
+    private double[] coverageOf(ArcLengthPath path) {
+        for (int i = 0; i < coveredPaths.length; i++) {
+            if (coveredPaths[i] == path) {
+                return coverage[i];
+            }
+        }
+        int n = coveredPaths.length;
+        coveredPaths = Arrays.copyOf(coveredPaths, n + 1);
+        coverage = Arrays.copyOf(coverage, n + 1);
+        coveredPaths[n] = path;
+        coverage[n] = path.intervalsWithin(position.x, position.y, range);
+        return coverage[n];
+    }
+    
+    /**
+     * Check if enemy is within attack range
+     */
+    protected boolean isInRange(Enemy enemy) {
+        return distanceSquaredTo(enemy) <= range * range;
+    }
+    
+    /**
+     * Check if this tower can target the given enemy
+     */
+    public boolean canTarget(Enemy enemy) {
+        // Basic implementation - subclasses can override for special targeting rules
+        return canTargetFlying || !isFlying(enemy);
+    }
+    
+    /**
+     * Check if enemy is flying (simplified check based on enemy type)
+     */
+    protected boolean isFlying(Enemy enemy) {
+        // By type rather than class name: getSimpleName builds a new string on every call
+        return enemy.getType() == EnemyType.FLYING;
     }
     
     /**
@@ -240,6 +335,7 @@ public abstract class Tower extends GameObject {
             currentHealth = 0;
             isDestroyed = true;
             destroy();
+            world.towerDestroyed(this);
         }
     }
     
@@ -271,6 +367,8 @@ public abstract class Tower extends GameObject {
         if (canUpgrade()) {
             level++;
             applyUpgrade();
+            // Upgrades usually extend the range
+            updateCoverage();
             return true;
         }
         return false;
@@ -294,12 +392,10 @@ public abstract class Tower extends GameObject {
     protected abstract int getMaxLevel();
     
     /**
-     * Get current enemies from game state
-     * This method will be overridden or provided by dependency injection
+     * Get current enemies from the tower's world (read-only view, not a copy)
      */
     protected List<Enemy> getCurrentEnemies() {
-        // Get enemies from game state
-        return GameState.getInstance().getEnemies();
+        return world.getEnemiesView();
     }
     
     /**
@@ -326,6 +422,61 @@ public abstract class Tower extends GameObject {
      */
     public abstract int getBaseCost();
     
+    /**
+     * Get the tower type this class implements
+     */
+    public abstract TowerType getTowerType();
+    
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(damage);
+        out.writeDouble(range);
+        out.writeDouble(fireRate);
+        out.writeDouble(timeSinceLastShot);
+        out.writeInt(color);
+        out.writeInt(size);
+        out.writeInt(level);
+        out.writeInt(upgradeCost);
+        out.writeBoolean(canTargetFlying);
+        out.writeInt(maxHealth);
+        out.writeInt(currentHealth);
+        out.writeBoolean(isDestroyed);
+        out.writeInt(totalKills);
+        out.writeInt(totalDamageDealt);
+        // A dead target behaves exactly like no target; one not resolved since a restore is kept as is
+        boolean dead = currentTarget != null && (!currentTarget.isActive() || currentTarget.getId() != currentTargetId);
+        out.writeInt(dead ? 0 : currentTargetId);
+        out.writeDouble(timeSinceRetarget);
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        damage = in.readInt();
+        range = in.readDouble();
+        fireRate = in.readDouble();
+        timeSinceLastShot = in.readDouble();
+        color = in.readInt();
+        size = in.readInt();
+        level = in.readInt();
+        upgradeCost = in.readInt();
+        canTargetFlying = in.readBoolean();
+        maxHealth = in.readInt();
+        currentHealth = in.readInt();
+        isDestroyed = in.readBoolean();
+        totalKills = in.readInt();
+        totalDamageDealt = in.readInt();
+        // Resolved on first use (see lockedTarget)
+        currentTarget = null;
+        currentTargetId = in.readInt();
+        timeSinceRetarget = in.readDouble();
+        
+        // Position and range came from the snapshot; coverage is rebuilt on first use
+        coveredPaths = new ArcLengthPath[0];
+        coverage = new double[0][];
+    }
+    
     /**
      * Get sell value (typically 70% of total cost)
      */
@@ -360,6 +511,7 @@ public abstract class Tower extends GameObject {
     
     public void setTargetingStrategy(TargetingStrategy targetingStrategy) {
         this.targetingStrategy = targetingStrategy;
+        lockOn(null); // the lock was chosen by the old strategy
     }
     
     public int getTotalKills() {
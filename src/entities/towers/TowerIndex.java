@@ -0,0 +1,152 @@
+package entities.towers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Static bucket grid over the standing towers of one world, for enemy attacks
+ * Towers never move, so the grid is only rebuilt after one is placed, sold or destroyed
+ * (the world calls invalidate on those events); between changes a query touches only the
+ * cells its circle overlaps. Ties go to the tower that comes first in the world's tower list,
+ * the same answer a scan of that list gives
+ */
+public class TowerIndex {
+    private static final double FIELD_WIDTH = 800.0;
+    private static final double FIELD_HEIGHT = 600.0;
+    private static final double CELL_SIZE = 50.0;
+
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart; // entries of cell c are [cellStart[c], cellStart[c + 1])
+    private Tower[] cellTowers;
+    private int[] cellOrder; // position of each entry's tower in the tower list
+    private double[] cellX, cellY;
+    private int[] towerCell; // scratch for rebuild
+    private boolean dirty;
+
+    public TowerIndex() {
+        this.columns = (int) Math.ceil(FIELD_WIDTH / CELL_SIZE);
+        this.rows = (int) Math.ceil(FIELD_HEIGHT / CELL_SIZE);
+        this.cellStart = new int[columns * rows + 1];
+        allocate(16);
+        this.dirty = true;
+    }
+
+    private void allocate(int capacity) {
+        cellTowers = new Tower[capacity];
+        cellOrder = new int[capacity];
+        cellX = new double[capacity];
+        cellY = new double[capacity];
+        towerCell = new int[capacity];
+    }
+
+    /**
+     * Towers changed; the next query rebuilds from the tower list
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    private int column(double x) {
+        int column = (int) Math.floor(x / CELL_SIZE);
+        return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+    }
+
+    private int row(double y) {
+        int row = (int) Math.floor(y / CELL_SIZE);
+        return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+    }
+
+    /**
+     * Rebuild if towers changed since the last query
+     * @param towers the world's tower list, in its current order
+     */
+    public void update(List<Tower> towers) {
+        if (!dirty) return;
+        dirty = false;
+
+        int count = towers.size();
+        if (cellTowers.length < count) {
+            allocate(Math.max(count, cellTowers.length * 2));
+        }
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < count; i++) {
+            Tower tower = towers.get(i);
+            if (!tower.isActive() || tower.isDestroyed()) {
+                towerCell[i] = -1;
+                continue;
+            }
+            int cell = row(tower.getY()) * columns + column(tower.getX());
+            towerCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = towerCell[i];
+            if (cell < 0) continue;
+            Tower tower = towers.get(i);
+            int entry = cellStart[cell]++;
+            cellTowers[entry] = tower;
+            cellOrder[entry] = i;
+            cellX[entry] = tower.getX();
+            cellY[entry] = tower.getY();
+        }
+        for (int c = columns * rows; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+        // Drop references to towers beyond the live entries
+        Arrays.fill(cellTowers, cellStart[columns * rows], cellTowers.length, null);
+    }
+
+    /**
+     * First standing tower in list order within radius of a point, or null
+     */
+    public Tower findFirstWithin(double x, double y, double radius) {
+        return find(x, y, radius, false);
+    }
+
+    /**
+     * Closest standing tower within radius of a point, or null
+     */
+    public Tower findNearestWithin(double x, double y, double radius) {
+        return find(x, y, radius, true);
+    }
+
+    private Tower find(double x, double y, double radius, boolean nearest) {
+        double radiusSquared = radius * radius;
+        int firstColumn = column(x - radius);
+        int lastColumn = column(x + radius);
+        int firstRow = row(y - radius);
+        int lastRow = row(y + radius);
+
+        Tower best = null;
+        int bestOrder = Integer.MAX_VALUE;
+        double bestDistance = Double.MAX_VALUE;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    Tower tower = cellTowers[k];
+                    // Destroyed since the last rebuild, still waiting for the event
+                    if (!tower.isActive() || tower.isDestroyed()) continue;
+                    double dx = cellX[k] - x;
+                    double dy = cellY[k] - y;
+                    double distance = dx * dx + dy * dy;
+                    if (distance > radiusSquared) continue;
+                    boolean better = nearest
+                        ? distance < bestDistance || (distance == bestDistance && cellOrder[k] < bestOrder)
+                        : cellOrder[k] < bestOrder;
+                    if (better) {
+                        best = tower;
+                        bestOrder = cellOrder[k];
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,170 @@
+package entities.towers;
+
+import core.Sprite;
+import utils.Vector2D;
+import java.awt.Graphics2D;
+import java.awt.Color;
+
+/**
+ * Immutable render snapshot of a tower
+ * Also carries the stats the UI shows for a selected tower
+ */
+public final class TowerSprite implements Sprite {
+    private final int id;
+    private final String typeName;
+    private final double x, y;
+    private final int size;
+    private final int color;
+    private final int level;
+    private final boolean destroyed;
+    private final boolean showRange;
+    private final int currentHealth;
+    private final int maxHealth;
+    
+    // Stats
+    private final int damage;
+    private final double range;
+    private final double fireRate;
+    private final int totalKills;
+    private final int upgradeCost;
+    private final boolean canUpgrade;
+    private final int sellValue;
+    
+    TowerSprite(Tower tower, Vector2D position) {
+        this.id = tower.getId();
+        this.typeName = tower.getClass().getSimpleName();
+        this.x = position.x;
+        this.y = position.y;
+        this.size = tower.size;
+        this.color = tower.color;
+        this.level = tower.level;
+        this.destroyed = tower.isDestroyed;
+        this.showRange = tower.isSelected();
+        this.currentHealth = tower.currentHealth;
+        this.maxHealth = tower.maxHealth;
+        this.damage = tower.damage;
+        this.range = tower.range;
+        this.fireRate = tower.fireRate;
+        this.totalKills = tower.totalKills;
+        this.upgradeCost = tower.getUpgradeCost();
+        this.canUpgrade = tower.canUpgrade();
+        this.sellValue = tower.getSellValue();
+    }
+    
+    @Override
+    public void draw(Graphics2D g2d, double alpha) {
+        // Towers don't move, so there is nothing to interpolate
+        // Draw tower as colored rectangle
+        if (destroyed) {
+            g2d.setColor(Color.GRAY);
+        } else {
+            g2d.setColor(new Color(color));
+        }
+        int left = (int) (x - size / 2);
+        int top = (int) (y - size / 2);
+        g2d.fillRect(left, top, size, size);
+        
+        // Draw border
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(left, top, size, size);
+        
+        // Draw level indicator
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(String.valueOf(level), left + 2, top + size - 2);
+        
+        // Draw health bar
+        drawHealthBar(g2d);
+        
+        // Draw range indicator if tower is selected
+        if (showRange) {
+            drawRange(g2d);
+        }
+    }
+    
+    /**
+     * Draw the tower's range circle
+     */
+    private void drawRange(Graphics2D g2d) {
+        g2d.setColor(new Color(255, 255, 255, 50)); // Semi-transparent white
+        int diameter = (int) (range * 2);
+        int left = (int) (x - range);
+        int top = (int) (y - range);
+        g2d.fillOval(left, top, diameter, diameter);
+        
+        g2d.setColor(Color.WHITE);
+        g2d.drawOval(left, top, diameter, diameter);
+    }
+    
+    /**
+     * Draw health bar above the tower
+     */
+    private void drawHealthBar(Graphics2D g2d) {
+        // Always show health bar for better visibility
+        int barWidth = size;
+        int barHeight = 4;
+        int left = (int) (x - barWidth / 2);
+        int top = (int) (y - size / 2 - barHeight - 2);
+        
+        // Background
+        g2d.setColor(Color.RED);
+        g2d.fillRect(left, top, barWidth, barHeight);
+        
+        // Health
+        g2d.setColor(Color.GREEN);
+        int healthWidth = (int) (barWidth * ((double) currentHealth / maxHealth));
+        g2d.fillRect(left, top, healthWidth, barHeight);
+        
+        // Border
+        g2d.setColor(Color.BLACK);
+        g2d.drawRect(left, top, barWidth, barHeight);
+    }
+    
+    // Getters
+    public int getId() {
+        return id;
+    }
+    
+    public String getTypeName() {
+        return typeName;
+    }
+    
+    public double getX() {
+        return x;
+    }
+    
+    public double getY() {
+        return y;
+    }
+    
+    public int getLevel() {
+        return level;
+    }
+    
+    public int getDamage() {
+        return damage;
+    }
+    
+    public double getRange() {
+        return range;
+    }
+    
+    public double getFireRate() {
+        return fireRate;
+    }
+    
+    public int getTotalKills() {
+        return totalKills;
+    }
+    
+    public int getUpgradeCost() {
+        return upgradeCost;
+    }
+    
+    public boolean canUpgrade() {
+        return canUpgrade;
+    }
+    
+    public int getSellValue() {
+        return sellValue;
+    }
+}
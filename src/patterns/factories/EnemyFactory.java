@@ -3,19 +3,30 @@ package patterns.factories;
 import entities.enemies.BasicEnemy;
 import entities.enemies.Enemy;
 import core.EnemyType;
+import core.GameState;
 
 /**
  * Factory pattern implementation for creating enemies
  */
 public class EnemyFactory {
+    private final GameState world;
+    
+    public EnemyFactory(GameState world) {
+        this.world = world;
+    }
     
     /**
-     * Create an enemy of the specified type
+     * Create an enemy of the specified type, recycling one from the world's pool when possible
      */
     public Enemy createEnemy(EnemyType type, int waveNumber) {
         // For now, just return BasicEnemy for all types
         // In a more complex implementation, you'd have separate enemy classes
-        return new BasicEnemy(0, 0, waveNumber);
+        Enemy enemy = world.getEnemyPool().acquire(EnemyType.BASIC);
+        if (enemy != null) {
+            enemy.respawn(waveNumber);
+            return enemy;
+        }
+        return new BasicEnemy(world, 0, 0, waveNumber);
     }
     
     /**
@@ -23,7 +34,7 @@ public class EnemyFactory {
      */
     public Enemy createRandomEnemy(int waveNumber) {
         EnemyType[] availableTypes = getAvailableTypes(waveNumber);
-        EnemyType randomType = availableTypes[(int) (Math.random() * availableTypes.length)];
+        EnemyType randomType = availableTypes[world.getRandom().nextInt(availableTypes.length)];
         return createEnemy(randomType, waveNumber);
     }
     
@@ -0,0 +1,30 @@
+package patterns.factories;
+
+import core.GameState;
+import core.TowerType;
+import entities.towers.*;
+
+/**
+ * Factory pattern implementation for creating towers
+ */
+public class TowerFactory {
+    private final GameState world;
+    
+    public TowerFactory(GameState world) {
+        this.world = world;
+    }
+    
+    /**
+     * Create a tower of the specified type at the given position
+     */
+    public Tower createTower(TowerType type, double x, double y) {
+        switch (type) {
+            case ARCHER: return new ArcherTower(world, x, y);
+            case CANNON: return new CannonTower(world, x, y);
+            case LIGHTNING: return new LightningTower(world, x, y);
+            case ICE: return new IceTower(world, x, y);
+            case POISON: return new PoisonTower(world, x, y);
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package patterns.strategies;
+
+import entities.enemies.Enemy;
+import entities.towers.Tower;
+
+/**
+ * Target the closest enemy to the tower
+ */
+class ClosestTargetingStrategy implements TargetingStrategy {
+    @Override
+    public double score(Enemy enemy, Tower tower) {
+        // Squared distance from primitives; no Vector2D per comparison
+        double dx = enemy.getX() - tower.getX();
+        double dy = enemy.getY() - tower.getY();
+        return -(dx * dx + dy * dy);
+    }
+    
+    @Override
+    public String getName() {
+        return "Closest";
+    }
+}
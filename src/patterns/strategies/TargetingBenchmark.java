@@ -0,0 +1,249 @@
+package patterns.strategies;
+
+import core.EnemyType;
+import core.GameState;
+import core.TowerType;
+import core.WaveConfig;
+import entities.enemies.Enemy;
+import entities.towers.Tower;
+import patterns.factories.EnemyFactory;
+import patterns.factories.TowerFactory;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Micro-benchmark for target selection
+ * Compares the stream-based strategies this package used to have with the single-pass loops,
+ * on the same in-range lists, and per-tower selection with one TargetingSweep over all enemies.
+ * Reports time and heap allocated per tower, and checks that each pair picks equally good targets
+ */
+public class TargetingBenchmark {
+    private static final int[] DEFAULT_SIZES = {100, 1_000, 5_000};
+    private static final int ROUNDS = 5;
+    private static volatile int blackhole; // keeps the JIT from dropping the timed loops
+
+    /**
+     * Benchmark entry point
+     * Usage: java patterns.strategies.TargetingBenchmark [--passes N] [--seed N]
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int passes = 200;
+        long seed = 1L;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--passes":
+                    passes = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: java patterns.strategies.TargetingBenchmark [--passes N] [--seed N]");
+                    System.exit(2);
+            }
+        }
+
+        // Spawning and placing log to stdout; keep the table readable
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+        }));
+
+        try {
+            console.println(String.format("Target selection, ns and bytes per tower (%d passes over every tower)", passes));
+            console.println(String.format("%8s | %6s | %-9s | %10s | %10s | %10s | %10s",
+                "enemies", "towers", "strategy", "before ns", "after ns", "before B", "after B"));
+            for (int size : DEFAULT_SIZES) {
+                GameState world = createWorld(size, seed);
+                List<Tower> towers = world.getTowersView();
+                for (TargetingStrategy strategy : new TargetingStrategy[] {new FirstTargetingStrategy(), new ClosestTargetingStrategy()}) {
+                    Row row = measureStrategy(towers, strategy, passes);
+                    console.println(String.format("%8d | %6d | %-9s | %10.0f | %10.0f | %10.1f | %10.1f",
+                        size, towers.size(), strategy.getName(), row.beforeNanos, row.afterNanos, row.beforeBytes, row.afterBytes));
+                }
+                Row row = measureSweep(world, passes);
+                console.println(String.format("%8d | %6d | %-9s | %10.0f | %10.0f | %10.1f | %10.1f",
+                    size, towers.size(), "sweep", row.beforeNanos, row.afterNanos, row.beforeBytes, row.afterBytes));
+            }
+            console.println("before/after: stream vs single-pass loop on the same in-range lists;");
+            console.println("sweep: collect + loop per tower vs one TargetingSweep over all enemies (Closest)");
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * A level-2 world with enemyCount enemies spread along its paths and archers on a lattice
+     */
+    private static GameState createWorld(int enemyCount, long seed) {
+        GameState world = new GameState(new WaveConfig(), seed);
+        world.setLevel(2);
+        world.addMoney(1_000_000);
+        TowerFactory towerFactory = new TowerFactory(world);
+        for (int x = 40; x <= 760; x += 60) {
+            for (int y = 40; y <= 560; y += 60) {
+                if (world.getPlacementMask().isValid(x, y)) {
+                    world.placeTower(towerFactory.createTower(TowerType.ARCHER, x, y));
+                }
+            }
+        }
+
+        // Spawn one at a time, walking the earlier ones forward, so they spread over the paths
+        EnemyFactory enemyFactory = new EnemyFactory(world);
+        double step = 12.0 / enemyCount;
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = enemyFactory.createEnemy(EnemyType.BASIC, 1);
+            world.spawnEnemy(enemy);
+            world.getEnemyStore().advance(step);
+        }
+        return world;
+    }
+
+    private static Row measureStrategy(List<Tower> towers, TargetingStrategy strategy, int passes) {
+        // Same inputs for both: each tower's in-range list, collected once
+        List<List<Enemy>> inRange = new ArrayList<>();
+        for (Tower tower : towers) {
+            inRange.add(new ArrayList<>(tower.getEnemiesInRange()));
+        }
+        boolean closest = strategy instanceof ClosestTargetingStrategy;
+        for (int t = 0; t < towers.size(); t++) {
+            Enemy before = closest ? streamClosest(inRange.get(t), towers.get(t)) : streamFirst(inRange.get(t));
+            Enemy after = strategy.selectTarget(inRange.get(t), towers.get(t));
+            if (before != after) {
+                throw new IllegalStateException(strategy.getName() + " picks differ for tower " + towers.get(t).getId());
+            }
+        }
+
+        long beforeNanos = Long.MAX_VALUE, afterNanos = Long.MAX_VALUE;
+        long beforeBytes = 0, afterBytes = 0;
+        int sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            for (int pass = 0; pass < passes; pass++) {
+                for (int t = 0; t < towers.size(); t++) {
+                    Enemy target = closest ? streamClosest(inRange.get(t), towers.get(t)) : streamFirst(inRange.get(t));
+                    sink += target != null ? 1 : 0;
+                }
+            }
+            beforeNanos = Math.min(beforeNanos, System.nanoTime() - start);
+            beforeBytes = allocatedBytes() - bytes;
+
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            for (int pass = 0; pass < passes; pass++) {
+                for (int t = 0; t < towers.size(); t++) {
+                    Enemy target = strategy.selectTarget(inRange.get(t), towers.get(t));
+                    sink += target != null ? 1 : 0;
+                }
+            }
+            afterNanos = Math.min(afterNanos, System.nanoTime() - start);
+            afterBytes = allocatedBytes() - bytes;
+        }
+        blackhole = sink;
+        return new Row(towers.size() * (long) passes, beforeNanos, afterNanos, beforeBytes, afterBytes);
+    }
+
+    private static Row measureSweep(GameState world, int passes) {
+        List<Tower> towers = world.getTowersView();
+        List<Enemy> enemies = world.getEnemiesView();
+        TargetingStrategy closest = new ClosestTargetingStrategy();
+        for (Tower tower : towers) {
+            tower.setTargetingStrategy(closest);
+        }
+        TargetingSweep sweep = new TargetingSweep();
+        sweep.sweep(towers, enemies);
+        for (int t = 0; t < towers.size(); t++) {
+            Enemy perTower = closest.selectTarget(towers.get(t));
+            Enemy batched = sweep.getTarget(t);
+            if ((perTower == null) != (batched == null)
+                    || (perTower != null && closest.score(perTower, towers.get(t)) != closest.score(batched, towers.get(t)))) {
+                throw new IllegalStateException("Sweep and per-tower picks differ for tower " + towers.get(t).getId());
+            }
+        }
+
+        long beforeNanos = Long.MAX_VALUE, afterNanos = Long.MAX_VALUE;
+        long beforeBytes = 0, afterBytes = 0;
+        int sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            for (int pass = 0; pass < passes; pass++) {
+                for (int t = 0; t < towers.size(); t++) {
+                    Enemy target = closest.selectTarget(towers.get(t));
+                    sink += target != null ? 1 : 0;
+                }
+            }
+            beforeNanos = Math.min(beforeNanos, System.nanoTime() - start);
+            beforeBytes = allocatedBytes() - bytes;
+
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            for (int pass = 0; pass < passes; pass++) {
+                sweep.sweep(towers, enemies);
+                sink += sweep.getTarget(0) != null ? 1 : 0;
+            }
+            afterNanos = Math.min(afterNanos, System.nanoTime() - start);
+            afterBytes = allocatedBytes() - bytes;
+        }
+        blackhole = sink;
+        return new Row(towers.size() * (long) passes, beforeNanos, afterNanos, beforeBytes, afterBytes);
+    }
+
+    // The stream versions the strategies used before, kept as the baseline
+
+    private static Enemy streamFirst(List<Enemy> enemies) {
+        return enemies.stream()
+                .filter(enemy -> enemy.isActive())
+                .max((e1, e2) -> Double.compare(e1.getPathProgress(), e2.getPathProgress()))
+                .orElse(null);
+    }
+
+    private static Enemy streamClosest(List<Enemy> enemies, Tower tower) {
+        return enemies.stream()
+                .filter(enemy -> enemy.isActive())
+                .min((e1, e2) -> Double.compare(
+                    tower.getPosition().distanceSquaredTo(e1.getPosition()),
+                    tower.getPosition().distanceSquaredTo(e2.getPosition())
+                ))
+                .orElse(null);
+    }
+
+    /**
+     * Bytes allocated so far by this thread, or 0 if the JVM does not track it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    private static final class Row {
+        final double beforeNanos;
+        final double afterNanos;
+        final double beforeBytes;
+        final double afterBytes;
+
+        Row(long selections, long beforeNanos, long afterNanos, long beforeBytes, long afterBytes) {
+            long perRound = Math.max(1, selections);
+            this.beforeNanos = (double) beforeNanos / perRound;
+            this.afterNanos = (double) afterNanos / perRound;
+            this.beforeBytes = (double) beforeBytes / perRound;
+            this.afterBytes = (double) afterBytes / perRound;
+        }
+    }
+}
@@ -9,13 +9,42 @@ import java.util.List;
  * Allows different targeting behaviors to be swapped at runtime
  */
 public interface TargetingStrategy {
+    /**
+     * How good a target this enemy is for the tower; higher is better
+     * Must not allocate: it runs for every candidate of every shot
+     */
+    double score(Enemy enemy, Tower tower);
+    
     /**
      * Select the best target from available enemies
+     * One pass over the list keeping the best score; ties go to the earlier enemy
      * @param enemies List of enemies in range
      * @param tower The tower doing the targeting
      * @return Selected enemy or null if no valid target
      */
-    Enemy selectTarget(List<Enemy> enemies, Tower tower);
+    default Enemy selectTarget(List<Enemy> enemies, Tower tower) {
+        Enemy best = null;
+        double bestScore = 0.0;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isActive()) continue;
+            double score = score(enemy, tower);
+            if (best == null || score > bestScore) {
+                best = enemy;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Select the best target for a tower
+     * By default this collects the enemies in range and calls selectTarget(enemies, tower);
+     * strategies that rank by path position override it to ask the tower's path ordering directly
+     */
+    default Enemy selectTarget(Tower tower) {
+        return selectTarget(tower.getEnemiesInRange(), tower);
+    }
     
     /**
      * Get the name of this targeting strategy
@@ -30,11 +59,13 @@ public interface TargetingStrategy {
  */
 class LastTargetingStrategy implements TargetingStrategy {
     @Override
-    public Enemy selectTarget(List<Enemy> enemies, Tower tower) {
-        return enemies.stream()
-                .filter(enemy -> enemy.isActive())
-                .min((e1, e2) -> Double.compare(e1.getPathProgress(), e2.getPathProgress()))
-                .orElse(null);
+    public double score(Enemy enemy, Tower tower) {
+        return -enemy.getPathProgress();
+    }
+    
+    @Override
+    public Enemy selectTarget(Tower tower) {
+        return tower.findLeastAdvancedInRange();
     }
     
     @Override
@@ -44,59 +75,52 @@ class LastTargetingStrategy implements TargetingStrategy {
 }
 
 /**
- * Target the strongest enemy (highest HP)
+ * Target the enemy with the least distance left to walk (differs from First when paths differ in length)
  */
-class StrongestTargetingStrategy implements TargetingStrategy {
+class ClosestToExitTargetingStrategy implements TargetingStrategy {
     @Override
-    public Enemy selectTarget(List<Enemy> enemies, Tower tower) {
-        return enemies.stream()
-                .filter(enemy -> enemy.isActive())
-                .max((e1, e2) -> Integer.compare(e1.getCurrentHp(), e2.getCurrentHp()))
-                .orElse(null);
+    public double score(Enemy enemy, Tower tower) {
+        return -enemy.getDistanceToExit();
+    }
+    
+    @Override
+    public Enemy selectTarget(Tower tower) {
+        return tower.findClosestToExitInRange();
     }
     
     @Override
     public String getName() {
-        return "Strongest";
+        return "Closest to exit";
     }
 }
 
 /**
- * Target the weakest enemy (lowest HP)
+ * Target the strongest enemy (highest HP)
  */
-class WeakestTargetingStrategy implements TargetingStrategy {
+class StrongestTargetingStrategy implements TargetingStrategy {
     @Override
-    public Enemy selectTarget(List<Enemy> enemies, Tower tower) {
-        return enemies.stream()
-                .filter(enemy -> enemy.isActive())
-                .min((e1, e2) -> Integer.compare(e1.getCurrentHp(), e2.getCurrentHp()))
-                .orElse(null);
+    public double score(Enemy enemy, Tower tower) {
+        return enemy.getCurrentHp();
     }
     
     @Override
     public String getName() {
-        return "Weakest";
+        return "Strongest";
     }
 }
 
 /**
- * Target the closest enemy to the tower
+ * Target the weakest enemy (lowest HP)
  */
-class ClosestTargetingStrategy implements TargetingStrategy {
+class WeakestTargetingStrategy implements TargetingStrategy {
     @Override
-    public Enemy selectTarget(List<Enemy> enemies, Tower tower) {
-        return enemies.stream()
-                .filter(enemy -> enemy.isActive())
-                .min((e1, e2) -> Double.compare(
-                    tower.getPosition().distanceTo(e1.getPosition()),
-                    tower.getPosition().distanceTo(e2.getPosition())
-                ))
-                .orElse(null);
+    public double score(Enemy enemy, Tower tower) {
+        return -enemy.getCurrentHp();
     }
     
     @Override
     public String getName() {
-        return "Closest";
+        return "Weakest";
     }
 }
 
@@ -111,6 +135,7 @@ class TargetingStrategyFactory {
             case STRONGEST: return new StrongestTargetingStrategy();
             case WEAKEST: return new WeakestTargetingStrategy();
             case CLOSEST: return new ClosestTargetingStrategy();
+            case CLOSEST_TO_EXIT: return new ClosestToExitTargetingStrategy();
             default: return new FirstTargetingStrategy();
         }
     }
@@ -120,5 +145,5 @@ class TargetingStrategyFactory {
  * Enum for targeting strategy types
  */
 enum TargetingType {
-    FIRST, LAST, STRONGEST, WEAKEST, CLOSEST
+    FIRST, LAST, STRONGEST, WEAKEST, CLOSEST, CLOSEST_TO_EXIT
 }
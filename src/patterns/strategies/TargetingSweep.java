@@ -0,0 +1,188 @@
+package patterns.strategies;
+
+import entities.enemies.Enemy;
+import entities.towers.Tower;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Batch targeting: picks a target for every ready tower in one pass over the enemies
+ * The towers are bucketed into a coarse grid by the cells their range overlaps, so each enemy is
+ * read once and offered only to the towers listed in its cell; each ready tower keeps the best
+ * score its strategy gives (see TargetingStrategy.score). Towers do not move, so the buckets are
+ * kept until the tower list or a range changes. Nothing is allocated once the scratch arrays have
+ * grown, so one sweep can be reused tick after tick. Ties go to the earlier enemy in the list,
+ * as with selectTarget(enemies, tower)
+ */
+public final class TargetingSweep {
+    private static final double FIELD_WIDTH = 800.0;
+    private static final double FIELD_HEIGHT = 600.0;
+    private static final double CELL_SIZE = 40.0;
+    private static final int COLUMNS = (int) Math.ceil(FIELD_WIDTH / CELL_SIZE);
+    private static final int ROWS = (int) Math.ceil(FIELD_HEIGHT / CELL_SIZE);
+
+    // By position in the tower list
+    private Tower[] towers = new Tower[16];
+    private double[] towerX = new double[16];
+    private double[] towerY = new double[16];
+    private double[] range = new double[16];
+    private boolean[] ready = new boolean[16];
+    private TargetingStrategy[] strategies = new TargetingStrategy[16];
+    private double[] bestScore = new double[16];
+    private Enemy[] targets = new Enemy[16];
+    private int towerCount;
+    private final int[] cellStart = new int[COLUMNS * ROWS + 1]; // towers of cell c are cellTowers[cellStart[c] .. cellStart[c + 1])
+    private int[] cellTowers = new int[64];
+
+    /**
+     * Pick targets for the ready, standing towers among towerList; read them back with getTarget
+     */
+    public void sweep(List<Tower> towerList, List<Enemy> enemies) {
+        if (!sameTowers(towerList)) {
+            bucketTowers(towerList);
+        }
+
+        int readyCount = 0;
+        for (int t = 0; t < towerCount; t++) {
+            Tower tower = towers[t];
+            targets[t] = null;
+            ready[t] = tower.isActive() && !tower.isDestroyed() && tower.canAttack();
+            strategies[t] = ready[t] ? tower.getTargetingStrategy() : null;
+            if (ready[t]) readyCount++;
+        }
+        if (readyCount == 0) return;
+
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isActive()) continue;
+            double x = enemy.getX();
+            double y = enemy.getY();
+            int cell = row(y) * COLUMNS + column(x);
+            for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                int t = cellTowers[k];
+                if (!ready[t]) continue;
+                double dx = x - towerX[t];
+                double dy = y - towerY[t];
+                if (dx * dx + dy * dy > range[t] * range[t]) continue;
+                Tower tower = towers[t];
+                if (!tower.canTarget(enemy)) continue;
+                double score = strategies[t].score(enemy, tower);
+                if (targets[t] == null || score > bestScore[t]) {
+                    targets[t] = enemy;
+                    bestScore[t] = score;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the buckets still describe this list: the same towers in the same order, same ranges
+     */
+    private boolean sameTowers(List<Tower> towerList) {
+        if (towerList.size() != towerCount) return false;
+        for (int t = 0; t < towerCount; t++) {
+            Tower tower = towerList.get(t);
+            if (tower != towers[t] || tower.getRange() != range[t]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * List each tower under every cell its range circle touches (counting sort)
+     */
+    private void bucketTowers(List<Tower> towerList) {
+        int count = towerList.size();
+        if (towers.length < count) {
+            grow(count);
+        }
+        Arrays.fill(towers, count, towers.length, null);
+        towerCount = count;
+        for (int t = 0; t < count; t++) {
+            Tower tower = towerList.get(t);
+            towers[t] = tower;
+            towerX[t] = tower.getX();
+            towerY[t] = tower.getY();
+            range[t] = tower.getRange();
+        }
+
+        Arrays.fill(cellStart, 0);
+        int entries = 0;
+        for (int t = 0; t < count; t++) {
+            int firstColumn = column(towerX[t] - range[t]), lastColumn = column(towerX[t] + range[t]);
+            int firstRow = row(towerY[t] - range[t]), lastRow = row(towerY[t] + range[t]);
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    if (reaches(t, column, row)) {
+                        cellStart[row * COLUMNS + column + 1]++;
+                        entries++;
+                    }
+                }
+            }
+        }
+        if (cellTowers.length < entries) {
+            cellTowers = new int[Math.max(entries, cellTowers.length * 2)];
+        }
+        for (int c = 0; c < COLUMNS * ROWS; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        for (int t = 0; t < count; t++) {
+            int firstColumn = column(towerX[t] - range[t]), lastColumn = column(towerX[t] + range[t]);
+            int firstRow = row(towerY[t] - range[t]), lastRow = row(towerY[t] + range[t]);
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    if (reaches(t, column, row)) {
+                        cellTowers[cellStart[row * COLUMNS + column]++] = t;
+                    }
+                }
+            }
+        }
+        for (int c = COLUMNS * ROWS; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Whether tower t's range circle touches the cell; border cells also stand for everything
+     * beyond the field, so they are treated as unbounded on their outer side
+     */
+    private boolean reaches(int t, int column, int row) {
+        double left = column == 0 ? Double.NEGATIVE_INFINITY : column * CELL_SIZE;
+        double right = column == COLUMNS - 1 ? Double.POSITIVE_INFINITY : (column + 1) * CELL_SIZE;
+        double top = row == 0 ? Double.NEGATIVE_INFINITY : row * CELL_SIZE;
+        double bottom = row == ROWS - 1 ? Double.POSITIVE_INFINITY : (row + 1) * CELL_SIZE;
+        double dx = towerX[t] < left ? left - towerX[t] : towerX[t] > right ? towerX[t] - right : 0.0;
+        double dy = towerY[t] < top ? top - towerY[t] : towerY[t] > bottom ? towerY[t] - bottom : 0.0;
+        return dx * dx + dy * dy <= range[t] * range[t];
+    }
+
+    private static int column(double x) {
+        int column = (int) Math.floor(x / CELL_SIZE);
+        return column < 0 ? 0 : column >= COLUMNS ? COLUMNS - 1 : column;
+    }
+
+    private static int row(double y) {
+        int row = (int) Math.floor(y / CELL_SIZE);
+        return row < 0 ? 0 : row >= ROWS ? ROWS - 1 : row;
+    }
+
+    /**
+     * Target picked for the tower at this position of the last sweep's list, or null if it was
+     * not ready or had nothing in range
+     */
+    public Enemy getTarget(int towerIndex) {
+        return towerIndex < towerCount ? targets[towerIndex] : null;
+    }
+
+    private void grow(int capacity) {
+        capacity = Math.max(capacity, towers.length * 2);
+        towers = new Tower[capacity];
+        towerX = new double[capacity];
+        towerY = new double[capacity];
+        range = new double[capacity];
+        ready = new boolean[capacity];
+        strategies = new TargetingStrategy[capacity];
+        bestScore = new double[capacity];
+        targets = new Enemy[capacity];
+    }
+}
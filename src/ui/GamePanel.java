@@ -1,43 +1,52 @@
 package ui;
 
 import core.*;
-import entities.enemies.Enemy;
-import entities.towers.Tower;
-import entities.projectiles.Projectile;
-import entities.towers.*;
+import entities.enemies.EnemySprite;
+import entities.towers.TowerSprite;
 import utils.Vector2D;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
  * Main game rendering panel
  */
 public class GamePanel extends JPanel implements MouseListener, MouseMotionListener, KeyListener {
-    private GameState gameState;
+    private GameSimulation simulation;
     private int width, height;
     
+    // Snapshot being painted (only valid during paintComponent)
+    private RenderSnapshot snapshot;
+    
     // Mouse interaction
     private Vector2D mousePosition;
-    private Tower selectedTower;
+    private int selectedTowerId; // 0 = none
     private TowerType selectedTowerType;
     private boolean placingTower;
+    private boolean placementValid; // live preview, from the latest snapshot's placement mask
     
     // Visual feedback
     private String statusMessage;
     private long messageEndTime;
     private final long MESSAGE_DURATION = 2000; // 2 seconds
     
+    // Render interpolation and frame metrics
+    private double interpolationAlpha = 1.0;
+    private boolean showFrameMetrics = false;
+    
     // Colors
     private final Color BACKGROUND_COLOR = new Color(34, 139, 34); // Forest green
     private final Color PATH_COLOR = new Color(139, 119, 101); // Saddle brown
     private final Color GRID_COLOR = new Color(0, 100, 0, 50); // Semi-transparent green
     
-    public GamePanel(int width, int height) {
+    public GamePanel(int width, int height, GameSimulation simulation) {
         this.width = width;
         this.height = height;
-        this.gameState = GameState.getInstance();
+        this.simulation = simulation;
         this.mousePosition = new Vector2D();
         this.placingTower = false;
         this.selectedTowerType = TowerType.ARCHER;
@@ -59,6 +68,10 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g.create();
         
+        // Render from the latest published snapshot; never touch live entities
+        snapshot = simulation.getLatestSnapshot();
+        interpolationAlpha = snapshot.getAlpha(System.nanoTime());
+        
         // Enable anti-aliasing
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         
@@ -77,6 +90,7 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
         drawTowerPlacement(g2d);
         drawSelectedTowerInfo(g2d);
         drawStatusMessages(g2d);
+        drawFrameMetrics(g2d);
         
         g2d.dispose();
     }
@@ -111,7 +125,7 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw enemy path
      */
     private void drawPath(Graphics2D g2d) {
-        List<List<Vector2D>> paths = gameState.getEnemyPaths();
+        List<List<Vector2D>> paths = snapshot.getEnemyPaths();
         for (List<Vector2D> path : paths) {
             if (path.size() < 2) continue;
             g2d.setColor(PATH_COLOR);
@@ -155,10 +169,8 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw all enemies
      */
     private void drawEnemies(Graphics2D g2d) {
-        for (Enemy enemy : gameState.getEnemies()) {
-            if (enemy.isActive()) {
-                enemy.render(g2d);
-            }
+        for (EnemySprite enemy : snapshot.getEnemies()) {
+            enemy.draw(g2d, interpolationAlpha);
         }
     }
     
@@ -166,10 +178,8 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw all towers
      */
     private void drawTowers(Graphics2D g2d) {
-        for (Tower tower : gameState.getTowers()) {
-            if (tower.isActive()) {
-                tower.render(g2d);
-            }
+        for (TowerSprite tower : snapshot.getTowers()) {
+            tower.draw(g2d, interpolationAlpha);
         }
     }
     
@@ -177,10 +187,8 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw all projectiles
      */
     private void drawProjectiles(Graphics2D g2d) {
-        for (Projectile projectile : gameState.getProjectiles()) {
-            if (projectile.isActive()) {
-                projectile.render(g2d);
-            }
+        for (Sprite projectile : snapshot.getProjectiles()) {
+            projectile.draw(g2d, interpolationAlpha);
         }
     }
     
@@ -189,8 +197,10 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      */
     private void drawTowerPlacement(Graphics2D g2d) {
         if (placingTower && selectedTowerType != null) {
-            // Draw tower preview
-            Color towerColor = getTowerColor(selectedTowerType);
+            // Draw tower preview, red where it cannot go
+            // Towers may have come or gone since the mouse last moved
+            placementValid = snapshot.canPlaceTowerAt(mousePosition.x, mousePosition.y);
+            Color towerColor = placementValid ? getTowerColor(selectedTowerType) : Color.RED;
             g2d.setColor(new Color(towerColor.getRed(), towerColor.getGreen(), towerColor.getBlue(), 128));
             
             int size = 20;
@@ -206,7 +216,7 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
             int rangeY = (int) (mousePosition.y - range);
             g2d.fillOval(rangeX, rangeY, diameter, diameter);
             
-            g2d.setColor(Color.WHITE);
+            g2d.setColor(placementValid ? Color.WHITE : Color.RED);
             g2d.drawOval(rangeX, rangeY, diameter, diameter);
             
             // Draw cost
@@ -221,13 +231,14 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw selected tower information
      */
     private void drawSelectedTowerInfo(Graphics2D g2d) {
+        TowerSprite selectedTower = getSelectedTower();
         if (selectedTower != null) {
             // Draw range circle
             g2d.setColor(new Color(255, 255, 0, 50)); // Semi-transparent yellow
             double range = selectedTower.getRange();
             int diameter = (int) (range * 2);
-            int x = (int) (selectedTower.getPosition().x - range);
-            int y = (int) (selectedTower.getPosition().y - range);
+            int x = (int) (selectedTower.getX() - range);
+            int y = (int) (selectedTower.getY() - range);
             g2d.fillOval(x, y, diameter, diameter);
             
             g2d.setColor(Color.YELLOW);
@@ -242,8 +253,8 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
     /**
      * Draw tower statistics
      */
-    private void drawTowerStats(Graphics2D g2d, Tower tower) {
-        Vector2D pos = tower.getPosition();
+    private void drawTowerStats(Graphics2D g2d, TowerSprite tower) {
+        Vector2D pos = new Vector2D(tower.getX(), tower.getY());
         g2d.setColor(Color.BLACK);
         g2d.fillRect((int) pos.x + 30, (int) pos.y - 40, 150, 80);
         
@@ -268,9 +279,9 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw house
      */
     private void drawHouse(Graphics2D g2d) {
-        House house = gameState.getHouse();
+        HouseSprite house = snapshot.getHouse();
         if (house != null) {
-            house.render(g2d);
+            house.draw(g2d, interpolationAlpha);
         }
     }
     
@@ -301,7 +312,7 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Draw game timer
      */
     private void drawGameTimer(Graphics2D g2d) {
-        double timeLeft = gameState.getGameDuration() - gameState.getGameTime();
+        double timeLeft = snapshot.getGameDuration() - snapshot.getGameTime();
         if (timeLeft < 0) timeLeft = 0;
         
         g2d.setColor(new Color(0, 0, 0, 150));
@@ -312,7 +323,7 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
         g2d.drawString(String.format("Time: %.1f", timeLeft), 20, 30);
         
         // Draw timer bar
-        double progress = timeLeft / gameState.getGameDuration();
+        double progress = timeLeft / snapshot.getGameDuration();
         int barWidth = 180;
         int barHeight = 8;
         int barX = 20;
@@ -329,6 +340,22 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
         g2d.drawRect(barX, barY, barWidth, barHeight);
     }
     
+    /**
+     * Draw frame pacing metrics (toggled with F3)
+     */
+    private void drawFrameMetrics(Graphics2D g2d) {
+        if (!showFrameMetrics) return;
+        
+        String metrics = simulation.getTimestep().getMetricsSummary();
+        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
+        int textWidth = g2d.getFontMetrics().stringWidth(metrics);
+        
+        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.fillRect(width - textWidth - 20, 10, textWidth + 10, 20);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(metrics, width - textWidth - 15, 24);
+    }
+    
     /**
      * Show a temporary message
      */
@@ -355,7 +382,7 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Reset the panel
      */
     public void reset() {
-        selectedTower = null;
+        selectedTowerId = 0;
         placingTower = false;
         statusMessage = null;
     }
@@ -377,6 +404,9 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
     public void mouseMoved(MouseEvent e) {
         mousePosition.set(e.getX(), e.getY());
         // Debug move logs can be noisy; keep minimal
+        if (placingTower) {
+            placementValid = simulation.getLatestSnapshot().canPlaceTowerAt(mousePosition.x, mousePosition.y);
+        }
     }
     
     /**
@@ -384,16 +414,16 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      */
     private void placeTower() {
         System.out.println("[ACTION][PlaceTowerAttempt] type=" + selectedTowerType + " pos=" + mousePosition);
-        Tower tower = createTower(selectedTowerType, mousePosition.x, mousePosition.y);
-        if (tower != null) {
-            if (gameState.placeTower(tower)) {
-                showMessage("Tower placed!");
-                System.out.println("[ACTION][PlaceTower] success id=" + tower.getId());
-            } else {
-                showMessage("Cannot place tower here!");
-                System.out.println("[ACTION][PlaceTower] rejected");
-            }
-        }
+        simulation.submit(new PlaceTowerCommand(selectedTowerType, mousePosition.x, mousePosition.y)
+            .onResult(placed -> SwingUtilities.invokeLater(() -> {
+                if (placed) {
+                    showMessage("Tower placed!");
+                    System.out.println("[ACTION][PlaceTower] success");
+                } else {
+                    showMessage("Cannot place tower here!");
+                    System.out.println("[ACTION][PlaceTower] rejected");
+                }
+            })));
         placingTower = false;
     }
     
@@ -401,18 +431,30 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
      * Select a tower at mouse position
      */
     private void selectTower() {
-        selectedTower = null;
+        selectedTowerId = 0;
         
-        for (Tower tower : gameState.getTowers()) {
-            Vector2D towerPos = tower.getPosition();
+        for (TowerSprite tower : simulation.getLatestSnapshot().getTowers()) {
+            Vector2D towerPos = new Vector2D(tower.getX(), tower.getY());
             if (mousePosition.distanceTo(towerPos) <= 15) {
-                selectedTower = tower;
+                selectedTowerId = tower.getId();
                 System.out.println("[ACTION][SelectTower] id=" + tower.getId());
                 break;
             }
         }
     }
     
+    /**
+     * Selected tower as of the latest snapshot, or null if none or it is gone
+     */
+    private TowerSprite getSelectedTower() {
+        if (selectedTowerId == 0) return null;
+        TowerSprite tower = simulation.getLatestSnapshot().findTower(selectedTowerId);
+        if (tower == null) {
+            selectedTowerId = 0;
+        }
+        return tower;
+    }
+    
     // Key event handlers
     @Override
     public void keyPressed(KeyEvent e) {
@@ -426,6 +468,12 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
                     gw.togglePause();
                 }
                 break;
+            case KeyEvent.VK_F3:
+                showFrameMetrics = !showFrameMetrics;
+                break;
+            case KeyEvent.VK_F9:
+                saveReplay();
+                break;
             case KeyEvent.VK_1:
                 selectedTowerType = TowerType.ARCHER;
                 placingTower = true;
@@ -452,34 +500,50 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
                 System.out.println("[ACTION][SelectTowerType] POISON");
                 break;
             case KeyEvent.VK_U:
-                if (selectedTower != null) {
-                    System.out.println("[ACTION][UpgradeTower] id=" + selectedTower.getId());
-                    upgradeTower();
+                if (getSelectedTower() != null) {
+                    System.out.println("[ACTION][UpgradeTower] id=" + selectedTowerId);
+                    upgradeTower(getSelectedTower());
                 }
                 break;
             case KeyEvent.VK_S:
-                if (selectedTower != null) {
-                    System.out.println("[ACTION][SellTower] id=" + selectedTower.getId());
-                    sellTower();
+                if (getSelectedTower() != null) {
+                    System.out.println("[ACTION][SellTower] id=" + selectedTowerId);
+                    sellTower(getSelectedTower());
                 }
                 break;
             case KeyEvent.VK_ESCAPE:
                 placingTower = false;
-                selectedTower = null;
+                selectedTowerId = 0;
                 System.out.println("[ACTION][CancelPlacement]");
                 break;
         }
     }
     
+    /**
+     * Write the match's command log to the working directory for headless replay
+     */
+    private void saveReplay() {
+        CommandLog log = simulation.getCommandLog();
+        Path file = Paths.get("replay-" + System.currentTimeMillis() + ".tdr");
+        try {
+            log.save(file);
+            System.out.println("[ACTION][SaveReplay] file=" + file.toAbsolutePath() + " commands=" + log.getCommandCount());
+            showMessage("Replay saved: " + file);
+        } catch (IOException ex) {
+            System.err.println("Error saving replay: " + ex.getMessage());
+            showMessage("Could not save replay");
+        }
+    }
+    
     /**
      * Upgrade selected tower
      */
-    private void upgradeTower() {
-        if (selectedTower.canUpgrade()) {
-            if (gameState.getPlayerMoney() >= selectedTower.getUpgradeCost()) {
-                gameState.subtractMoney(selectedTower.getUpgradeCost());
-                selectedTower.upgrade();
-                showMessage("Tower upgraded!");
+    private void upgradeTower(TowerSprite tower) {
+        if (tower.canUpgrade()) {
+            if (simulation.getLatestSnapshot().getPlayerMoney() >= tower.getUpgradeCost()) {
+                simulation.submit(new UpgradeTowerCommand(tower.getId())
+                    .onResult(upgraded -> SwingUtilities.invokeLater(() ->
+                        showMessage(upgraded ? "Tower upgraded!" : "Not enough money!"))));
             } else {
                 showMessage("Not enough money!");
             }
@@ -491,27 +555,19 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
     /**
      * Sell selected tower
      */
-    private void sellTower() {
-        int sellValue = selectedTower.getSellValue();
-        gameState.addMoney(sellValue);
-        gameState.getTowers().remove(selectedTower);
-        selectedTower.destroy();
-        selectedTower = null;
-        showMessage("Tower sold for $" + sellValue);
+    private void sellTower(TowerSprite tower) {
+        int sellValue = tower.getSellValue();
+        simulation.submit(new SellTowerCommand(tower.getId())
+            .onResult(sold -> SwingUtilities.invokeLater(() -> {
+                if (sold) {
+                    showMessage("Tower sold for $" + sellValue);
+                }
+            })));
+        selectedTowerId = 0;
     }
     
     // Helper methods
-    private Tower createTower(TowerType type, double x, double y) {
-        switch (type) {
-            case ARCHER: return new ArcherTower(x, y);
-            case CANNON: return new CannonTower(x, y);
-            case LIGHTNING: return new LightningTower(x, y);
-            case ICE: return new IceTower(x, y);
-            case POISON: return new PoisonTower(x, y);
-            default: return null;
-        }
-    }
-    
+
     private Color getTowerColor(TowerType type) {
         switch (type) {
             case ARCHER: return new Color(139, 69, 19);
@@ -555,9 +611,3 @@ public class GamePanel extends JPanel implements MouseListener, MouseMotionListe
     @Override public void keyReleased(KeyEvent e) {}
 }
 
-/**
- * Tower types enum
- */
-enum TowerType {
-    ARCHER, CANNON, LIGHTNING, ICE, POISON
-}
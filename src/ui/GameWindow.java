@@ -4,6 +4,8 @@ import core.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Main game window using Swing
@@ -12,17 +14,19 @@ public class GameWindow extends JFrame implements GameEventListener {
     private GamePanel gamePanel;
     private UIPanel uiPanel;
     private GameState gameState;
-    private Timer gameTimer;
+    private GameSimulation simulation;
     
-    // Game timing
-    private long lastUpdateTime;
+    // Render timing (the simulation runs on its own thread)
+    private volatile Thread loopThread;
+    private volatile boolean loopRunning;
     private final int TARGET_FPS = 60;
-    private final long FRAME_TIME = 1000 / TARGET_FPS; // milliseconds
+    private final long FRAME_TIME_NANOS = 1_000_000_000L / TARGET_FPS;
     
     // Game state
     private boolean isPaused = false;
     
-    public GameWindow() {
+    public GameWindow(GameState gameState) {
+        this.gameState = gameState;
         initializeWindow();
         initializeComponents();
         setupEventListeners();
@@ -53,14 +57,14 @@ public class GameWindow extends JFrame implements GameEventListener {
      * Initialize UI components
      */
     private void initializeComponents() {
-        gameState = GameState.getInstance();
+        simulation = new GameSimulation(gameState);
         
         // Create game panel (main playing area)
-        gamePanel = new GamePanel(800, 600);
+        gamePanel = new GamePanel(800, 600, simulation);
         add(gamePanel, BorderLayout.CENTER);
         
         // Create UI panel (controls and info)
-        uiPanel = new UIPanel(200, 600);
+        uiPanel = new UIPanel(200, 600, simulation);
         uiPanel.setGameWindow(this);
         add(uiPanel, BorderLayout.EAST);
         
@@ -89,47 +93,60 @@ public class GameWindow extends JFrame implements GameEventListener {
     }
     
     /**
-     * Start the game loop
+     * Start the simulation thread and the render loop
      */
     private void startGameLoop() {
-        lastUpdateTime = System.currentTimeMillis();
+        simulation.setPaused(isPaused);
+        simulation.start();
         
-        // Use Swing Timer for consistent frame rate
-        gameTimer = new Timer((int) FRAME_TIME, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                updateGame();
-                repaintGame();
+        // Pace frames from a dedicated thread; each frame runs on the EDT
+        loopRunning = true;
+        Thread thread = new Thread(this::runGameLoop, "game-loop");
+        thread.setDaemon(true);
+        loopThread = thread;
+        thread.start();
+    }
+    
+    /**
+     * Frame pacing loop: one frame per TARGET_FPS period, measured with System.nanoTime()
+     */
+    private void runGameLoop() {
+        long nextFrame = System.nanoTime();
+        while (loopRunning && loopThread == Thread.currentThread()) {
+            try {
+                SwingUtilities.invokeAndWait(this::runFrame);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (InvocationTargetException e) {
+                System.err.println("Error in game loop: " + e.getCause());
+                e.getCause().printStackTrace();
             }
-        });
-        
-        gameTimer.start();
+            
+            nextFrame += FRAME_TIME_NANOS;
+            long sleepNanos = nextFrame - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
+            } else {
+                // Running late: render as soon as possible but don't burst to catch up
+                nextFrame = System.nanoTime();
+            }
+        }
     }
     
     /**
-     * Update game logic
+     * One rendered frame (runs on the EDT)
      */
-    private void updateGame() {
-        if (isPaused) return;
-        
-        long currentTime = System.currentTimeMillis();
-        double deltaTime = (currentTime - lastUpdateTime) / 1000.0; // Convert to seconds
-        lastUpdateTime = currentTime;
-        
-        // Cap delta time to prevent large jumps
-        deltaTime = Math.min(deltaTime, 1.0 / 30.0); // Max 30 FPS equivalent
+    private void runFrame() {
+        if (!loopRunning) return;
         
-        // Debug tick log (low frequency)
-        // System.out.println("[TICK] dt=" + String.format("%.3f", deltaTime));
-        
-        // Update game state
-        gameState.update(deltaTime);
-        
-        // Update UI
-        uiPanel.update(deltaTime);
+        // Update UI from the latest published snapshot
+        uiPanel.update(FRAME_TIME_NANOS / 1_000_000_000.0);
         
         // Check win/lose conditions
         checkGameEndConditions();
+        
+        repaintGame();
     }
     
     /**
@@ -144,13 +161,18 @@ public class GameWindow extends JFrame implements GameEventListener {
      * Stop the game loop
      */
     private void stopGameLoop() {
-        if (gameTimer != null) {
-            gameTimer.stop();
-        }
+        loopRunning = false;
+        loopThread = null;
+        simulation.stop();
     }
     
     @Override
     public void onEvent(GameEvent event) {
+        // Events arrive on the simulation thread
+        SwingUtilities.invokeLater(() -> handleEvent(event));
+    }
+    
+    private void handleEvent(GameEvent event) {
         switch (event.getType()) {
             case GAME_OVER:
                 handleGameOver(event);
@@ -183,7 +205,7 @@ public class GameWindow extends JFrame implements GameEventListener {
                 // no-op UI side
                 break;
             case PLAYER_MONEY_CHANGED:
-                // no-op UI side; UIPanel pulls from GameState each frame
+                // no-op UI side; UIPanel pulls from the snapshot each frame
                 break;
             case PROJECTILE_FIRED:
                 // no-op UI side
@@ -198,10 +220,11 @@ public class GameWindow extends JFrame implements GameEventListener {
      * Check for win/lose conditions
      */
     private void checkGameEndConditions() {
-        if (gameState.isGameWon()) {
-            handleGameWin();
-        } else if (gameState.isGameLost()) {
-            handleGameLose();
+        RenderSnapshot snapshot = simulation.getLatestSnapshot();
+        if (snapshot.isGameWon()) {
+            handleGameWin(snapshot.getScore());
+        } else if (snapshot.isGameLost()) {
+            handleGameLose(snapshot.getScore());
         }
     }
     
@@ -211,7 +234,7 @@ public class GameWindow extends JFrame implements GameEventListener {
     private void handleGameOver(GameEvent event) {
         stopGameLoop();
         
-        int score = event.getData("score");
+        int score = ((GameOverEvent) event).getScore();
         int result = JOptionPane.showConfirmDialog(
             this,
             "Game Over!\nFinal Score: " + score + "\n\nPlay again?",
@@ -229,10 +252,9 @@ public class GameWindow extends JFrame implements GameEventListener {
     /**
      * Handle game win
      */
-    private void handleGameWin() {
+    private void handleGameWin(int score) {
         stopGameLoop();
         
-        int score = gameState.getScore();
         int result = JOptionPane.showConfirmDialog(
             this,
             "Congratulations! You Won!\nFinal Score: " + score + "\n\nPlay again?",
@@ -250,10 +272,9 @@ public class GameWindow extends JFrame implements GameEventListener {
     /**
      * Handle game lose
      */
-    private void handleGameLose() {
+    private void handleGameLose(int score) {
         stopGameLoop();
         
-        int score = gameState.getScore();
         int result = JOptionPane.showConfirmDialog(
             this,
             "Your house was destroyed!\nFinal Score: " + score + "\n\nPlay again?",
@@ -272,7 +293,7 @@ public class GameWindow extends JFrame implements GameEventListener {
      * Handle wave started event
      */
     private void handleWaveStarted(GameEvent event) {
-        int waveNumber = event.getData("waveNumber");
+        int waveNumber = ((WaveEvent) event).getWaveNumber();
         gamePanel.showWaveStartMessage("Wave " + waveNumber + " Started!");
     }
     
@@ -280,19 +301,20 @@ public class GameWindow extends JFrame implements GameEventListener {
      * Handle wave completed event
      */
     private void handleWaveCompleted(GameEvent event) {
-        int waveNumber = event.getData("waveNumber");
+        int waveNumber = ((WaveEvent) event).getWaveNumber();
         gamePanel.showWaveCompleteMessage("Wave " + waveNumber + " Complete!");
     }
     
     /**
      * Restart the game
      */
-    private void restartGame() {
+    public void restartGame() {
         // Stop current game
         stopGameLoop();
         
-        // Reset game state
-        gameState = GameState.getInstance();
+        // Rewind the world to its starting state
+        simulation.restart();
+        isPaused = false;
         
         // Reinitialize components
         gamePanel.reset();
@@ -321,6 +343,7 @@ public class GameWindow extends JFrame implements GameEventListener {
      */
     public void togglePause() {
         isPaused = !isPaused;
+        simulation.setPaused(isPaused);
         if (isPaused) {
             System.out.println("Game paused");
         } else {
@@ -328,6 +351,13 @@ public class GameWindow extends JFrame implements GameEventListener {
         }
     }
     
+    /**
+     * Get the simulation driving this window
+     */
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
+    
     /**
      * Check if game is paused
      */
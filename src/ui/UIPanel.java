@@ -3,16 +3,25 @@ package ui;
 import core.*;
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 //import java.awt.event.ActionEvent;
 //import java.awt.event.ActionListener;
 
 /**
  * UI control panel for game information and controls
  */
-public class UIPanel extends JPanel implements GameEventListener {
-    private GameState gameState;
+public class UIPanel extends JPanel implements TickSummaryListener {
+    private GameSimulation simulation;
     private GameWindow gameWindow;
     
+    // Handed from the simulation thread to the EDT; at most one refresh is queued
+    private final AtomicReference<TickSummary> latestSummary = new AtomicReference<>();
+    private final AtomicInteger pendingKills = new AtomicInteger();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private int kills; // EDT only
+    
     // UI Components
     private JLabel healthLabel;
     private JLabel moneyLabel;
@@ -38,8 +47,8 @@ public class UIPanel extends JPanel implements GameEventListener {
     private boolean paused = false;
     private int gameSpeed = 1; // 1x, 2x, 3x speed
     
-    public UIPanel(int width, int height) {
-        this.gameState = GameState.getInstance();
+    public UIPanel(int width, int height, GameSimulation simulation) {
+        this.simulation = simulation;
         
         setPreferredSize(new Dimension(width, height));
         setBackground(new Color(64, 64, 64)); // Dark gray
@@ -48,6 +57,7 @@ public class UIPanel extends JPanel implements GameEventListener {
         
         initializeComponents();
         setupEventListeners();
+        showTotals(simulation.getLatestSnapshot());
         updateDisplay();
     }
     
@@ -274,12 +284,11 @@ public class UIPanel extends JPanel implements GameEventListener {
      * Setup event listeners
      */
     private void setupEventListeners() {
-        // Register for game events
-        gameState.getEventManager().addListener(EventType.PLAYER_MONEY_CHANGED, this);
-        gameState.getEventManager().addListener(EventType.PLAYER_HEALTH_CHANGED, this);
-        gameState.getEventManager().addListener(EventType.WAVE_STARTED, this);
-        gameState.getEventManager().addListener(EventType.WAVE_COMPLETED, this);
-        gameState.getEventManager().addListener(EventType.ENEMY_KILLED, this);
+        // Money, wave and kills come from one summary per tick, however many payouts and kills it had;
+        // the rest is read from the latest snapshot every frame (update)
+        GameEventManager eventManager = simulation.getGameState().getEventManager();
+        eventManager.addTickListener(this,
+            EventType.PLAYER_MONEY_CHANGED, EventType.WAVE_STARTED, EventType.WAVE_COMPLETED, EventType.ENEMY_KILLED);
         
         // Control button listeners
         pauseButton.addActionListener(e -> { System.out.println("[INPUT][Click] Pause"); togglePause(); });
@@ -306,39 +315,48 @@ public class UIPanel extends JPanel implements GameEventListener {
      * Update all display elements
      */
     private void updateDisplay() {
-        House house = gameState.getHouse();
-        int houseHealth = house != null ? house.getCurrentHealth() : 0;
-        healthLabel.setText("House Health: " + houseHealth);
-        moneyLabel.setText("Money: $" + gameState.getPlayerMoney());
-        waveLabel.setText("Wave: " + gameState.getCurrentWave());
-        scoreLabel.setText("Score: " + gameState.getScore());
-        killsLabel.setText("Kills: " + gameState.getEnemiesKilled());
+        RenderSnapshot snapshot = simulation.getLatestSnapshot();
+        healthLabel.setText("House Health: " + snapshot.getPlayerHealth());
+        scoreLabel.setText("Score: " + snapshot.getScore());
         
         // Update next wave timer
-        if (!gameState.isWaveInProgress()) {
-            double timeUntilNext = gameState.getTimeUntilNextWave();
+        if (!snapshot.isWaveInProgress()) {
+            double timeUntilNext = snapshot.getTimeUntilNextWave();
             nextWaveLabel.setText(String.format("Next wave in: %.1fs", timeUntilNext));
         } else {
             nextWaveLabel.setText("Wave in progress...");
         }
-        
-        // Update tower button availability based on money
-        updateTowerButtonStates();
+    }
+    
+    /**
+     * Set money, wave and kills from a snapshot; used when there is no summary to go on yet
+     */
+    private void showTotals(RenderSnapshot snapshot) {
+        kills = snapshot.getEnemiesKilled();
+        showMoneyAndWave(snapshot.getPlayerMoney(), snapshot.getCurrentWave());
+        killsLabel.setText("Kills: " + kills);
+    }
+    
+    private void showMoneyAndWave(int money, int wave) {
+        moneyLabel.setText("Money: $" + money);
+        waveLabel.setText("Wave: " + wave);
+        updateTowerButtonStates(money);
     }
     
     /**
      * Update wave progress bar
      */
     private void updateWaveProgress() {
-        if (gameState.isWaveInProgress()) {
+        RenderSnapshot snapshot = simulation.getLatestSnapshot();
+        if (snapshot.isWaveInProgress()) {
             // Show enemies remaining
-            int totalEnemies = gameState.getEnemies().size();
+            int totalEnemies = snapshot.getEnemies().size();
             waveProgressBar.setString("Enemies: " + totalEnemies);
             waveProgressBar.setValue(Math.max(0, 100 - totalEnemies * 2));
             waveProgressBar.setForeground(Color.RED);
         } else {
             // Show countdown to next wave
-            double timeUntilNext = gameState.getTimeUntilNextWave();
+            double timeUntilNext = snapshot.getTimeUntilNextWave();
             int percentage = (int) ((5.0 - timeUntilNext) / 5.0 * 100);
             waveProgressBar.setValue(percentage);
             waveProgressBar.setString("Preparing...");
@@ -349,9 +367,7 @@ public class UIPanel extends JPanel implements GameEventListener {
     /**
      * Update tower button states based on available money
      */
-    private void updateTowerButtonStates() {
-        int money = gameState.getPlayerMoney();
-        
+    private void updateTowerButtonStates(int money) {
         archerButton.setEnabled(money >= 50);
         cannonButton.setEnabled(money >= 120);
         lightningButton.setEnabled(money >= 85);
@@ -390,8 +406,8 @@ public class UIPanel extends JPanel implements GameEventListener {
             JOptionPane.YES_NO_OPTION
         );
         
-        if (result == JOptionPane.YES_OPTION) {
-            // Restart functionality would be handled by the main game window
+        if (result == JOptionPane.YES_OPTION && gameWindow != null) {
+            gameWindow.restartGame();
         }
     }
     
@@ -415,29 +431,32 @@ public class UIPanel extends JPanel implements GameEventListener {
         gameSpeed = 1;
         pauseButton.setText("Pause");
         speedButton.setText("Speed: 1x");
+        // The simulation is stopped here; forget what the old match queued
+        latestSummary.set(null);
+        pendingKills.set(0);
+        showTotals(simulation.getLatestSnapshot());
         updateDisplay();
     }
     
     @Override
-    public void onEvent(GameEvent event) {
-        SwingUtilities.invokeLater(() -> {
-            switch (event.getType()) {
-                case PLAYER_MONEY_CHANGED:
-                case PLAYER_HEALTH_CHANGED:
-                case WAVE_STARTED:
-                case WAVE_COMPLETED:
-                case ENEMY_KILLED:
-                case GAME_OVER:
-                case ENEMY_SPAWNED:
-                case ENEMY_REACHED_END:
-                case PROJECTILE_FIRED:
-                case TOWER_SOLD:
-                case TOWER_UPGRADED:
-                case PROJECTILE_HIT:
-                case TOWER_PLACED:
-                    updateDisplay();
-                    break;
-            }
-        });
+    public void onTick(TickSummary summary) {
+        pendingKills.addAndGet(summary.getKills());
+        latestSummary.set(summary);
+        // Ticks can come faster than the EDT drains them (catch-up steps); keep one refresh queued at most
+        if (refreshQueued.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::showLatestSummary);
+        }
+    }
+    
+    /**
+     * Show the newest summary; the summary is immutable, so no snapshot is read
+     */
+    private void showLatestSummary() {
+        refreshQueued.set(false);
+        TickSummary summary = latestSummary.getAndSet(null);
+        if (summary == null) return;
+        kills += pendingKills.getAndSet(0);
+        showMoneyAndWave(summary.getMoney(), summary.getWave());
+        killsLabel.setText("Kills: " + kills);
     }
 }
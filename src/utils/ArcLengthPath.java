@@ -0,0 +1,186 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable polyline parameterized by arc length
+ * Built once per level; a point on it is a single distance s from the start. Segment lengths,
+ * cumulative lengths and unit directions are precomputed, so evaluating a point needs no square
+ * root or normalize, and walking forward from the previous segment is amortized O(1)
+ */
+public final class ArcLengthPath {
+    private final double[] x, y;
+    private final double[] cumulative; // distance from the start to each waypoint
+    private final double[] dirX, dirY; // unit direction of each segment
+    private final double length;
+
+    private ArcLengthPath(double[] x, double[] y) {
+        int n = x.length;
+        this.x = x;
+        this.y = y;
+        this.cumulative = new double[n];
+        this.dirX = new double[Math.max(0, n - 1)];
+        this.dirY = new double[Math.max(0, n - 1)];
+        for (int i = 0; i + 1 < n; i++) {
+            double dx = x[i + 1] - x[i];
+            double dy = y[i + 1] - y[i];
+            double segment = Math.sqrt(dx * dx + dy * dy);
+            cumulative[i + 1] = cumulative[i] + segment;
+            if (segment > 0) {
+                dirX[i] = dx / segment;
+                dirY[i] = dy / segment;
+            }
+        }
+        this.length = n > 0 ? cumulative[n - 1] : 0.0;
+    }
+
+    /**
+     * Compile a list of waypoints
+     */
+    public static ArcLengthPath of(List<Vector2D> points) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("A path needs at least one waypoint");
+        }
+        double[] x = new double[points.size()];
+        double[] y = new double[points.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = points.get(i).x;
+            y[i] = points.get(i).y;
+        }
+        return new ArcLengthPath(x, y);
+    }
+
+    /**
+     * Total length from the first to the last waypoint
+     */
+    public double length() {
+        return length;
+    }
+
+    public int pointCount() {
+        return x.length;
+    }
+
+    public int segmentCount() {
+        return dirX.length;
+    }
+
+    /**
+     * Segment containing distance s, searching from a previous answer
+     * Enemies only move forward, so passing last tick's segment makes this O(1) amortized
+     */
+    public int segmentAt(double s, int hint) {
+        int last = segmentCount() - 1;
+        if (last < 0) return 0;
+        int segment = Math.max(0, Math.min(hint, last));
+        while (segment < last && s >= cumulative[segment + 1]) {
+            segment++;
+        }
+        while (segment > 0 && s < cumulative[segment]) {
+            segment--;
+        }
+        return segment;
+    }
+
+    /**
+     * X at distance s, which must lie on the given segment (see segmentAt)
+     */
+    public double xAt(double s, int segment) {
+        if (dirX.length == 0) return x[0];
+        return x[segment] + dirX[segment] * (s - cumulative[segment]);
+    }
+
+    /**
+     * Y at distance s, which must lie on the given segment (see segmentAt)
+     */
+    public double yAt(double s, int segment) {
+        if (dirY.length == 0) return y[0];
+        return y[segment] + dirY[segment] * (s - cumulative[segment]);
+    }
+
+    /**
+     * Fraction of the path covered at distance s, 0.0 to 1.0
+     */
+    public double progressAt(double s) {
+        if (length <= 0) return 1.0;
+        return Math.min(1.0, s / length);
+    }
+
+    /**
+     * Stretches of the path within radius of a point, as sorted, disjoint arc-length intervals
+     * Returned flat: [start0, end0, start1, end1, ...]; each segment is clipped against the circle
+     * analytically and touching pieces of consecutive segments are merged
+     */
+    public double[] intervalsWithin(double centerX, double centerY, double radius) {
+        double radiusSquared = radius * radius;
+        if (dirX.length == 0) {
+            double dx = x[0] - centerX;
+            double dy = y[0] - centerY;
+            return dx * dx + dy * dy <= radiusSquared ? new double[] {0.0, 0.0} : new double[0];
+        }
+
+        double[] intervals = new double[4];
+        int count = 0;
+        for (int i = 0; i < dirX.length; i++) {
+            // |a + t * dir - c|^2 <= r^2 for t in [0, segment length]; dir is a unit vector
+            double ax = x[i] - centerX;
+            double ay = y[i] - centerY;
+            double b = ax * dirX[i] + ay * dirY[i];
+            double c = ax * ax + ay * ay - radiusSquared;
+            double discriminant = b * b - c;
+            if (discriminant < 0) continue;
+            double root = Math.sqrt(discriminant);
+            double segment = cumulative[i + 1] - cumulative[i];
+            double from = Math.max(0.0, -b - root);
+            double to = Math.min(segment, -b + root);
+            if (from > to) continue;
+
+            double start = cumulative[i] + from;
+            double end = cumulative[i] + to;
+            if (count > 0 && start <= intervals[count - 1]) {
+                intervals[count - 1] = Math.max(intervals[count - 1], end);
+                continue;
+            }
+            if (count == intervals.length) {
+                intervals = Arrays.copyOf(intervals, count * 2);
+            }
+            intervals[count++] = start;
+            intervals[count++] = end;
+        }
+        return Arrays.copyOf(intervals, count);
+    }
+
+    public double startX() {
+        return x[0];
+    }
+
+    public double startY() {
+        return y[0];
+    }
+
+    /**
+     * Same waypoints, in the same order
+     */
+    public boolean samePoints(ArcLengthPath other) {
+        if (other.x.length != x.length) return false;
+        for (int i = 0; i < x.length; i++) {
+            if (Double.compare(x[i], other.x[i]) != 0 || Double.compare(y[i], other.y[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waypoints as a new list
+     */
+    public List<Vector2D> toList() {
+        List<Vector2D> points = new ArrayList<>(x.length);
+        for (int i = 0; i < x.length; i++) {
+            points.add(new Vector2D(x[i], y[i]));
+        }
+        return points;
+    }
+}
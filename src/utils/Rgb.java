@@ -0,0 +1,41 @@
+package utils;
+
+/**
+ * Packed 0xRRGGBB colors for game entities
+ * Keeps java.awt out of the simulation so it can run on headless servers
+ */
+public final class Rgb {
+    // Same values as the matching java.awt.Color constants
+    public static final int BLACK = 0x000000;
+    public static final int WHITE = 0xFFFFFF;
+    public static final int RED = 0xFF0000;
+    public static final int GREEN = 0x00FF00;
+    public static final int BLUE = 0x0000FF;
+    public static final int YELLOW = 0xFFFF00;
+    public static final int CYAN = 0x00FFFF;
+    public static final int MAGENTA = 0xFF00FF;
+    public static final int ORANGE = 0xFFC800;
+    public static final int GRAY = 0x808080;
+    public static final int DARK_GRAY = 0x404040;
+
+    private Rgb() {}
+
+    /**
+     * Pack red, green and blue components (0-255) into one int
+     */
+    public static int of(int red, int green, int blue) {
+        return ((red & 0xFF) << 16) | ((green & 0xFF) << 8) | (blue & 0xFF);
+    }
+
+    public static int red(int rgb) {
+        return (rgb >> 16) & 0xFF;
+    }
+
+    public static int green(int rgb) {
+        return (rgb >> 8) & 0xFF;
+    }
+
+    public static int blue(int rgb) {
+        return rgb & 0xFF;
+    }
+}
@@ -38,7 +38,24 @@ public class Vector2D {
     }
     
     public double distanceTo(Vector2D other) {
-        return subtract(other).magnitude();
+        return distanceTo(other.x, other.y);
+    }
+    
+    public double distanceTo(double otherX, double otherY) {
+        return Math.sqrt(distanceSquaredTo(otherX, otherY));
+    }
+    
+    /**
+     * Squared distance; compare against range * range to skip the square root
+     */
+    public double distanceSquaredTo(Vector2D other) {
+        return distanceSquaredTo(other.x, other.y);
+    }
+    
+    public double distanceSquaredTo(double otherX, double otherY) {
+        double dx = x - otherX;
+        double dy = y - otherY;
+        return dx * dx + dy * dy;
     }
     
     public Vector2D normalize() {
@@ -47,11 +64,44 @@ public class Vector2D {
         return new Vector2D(x / mag, y / mag);
     }
     
+    // In-place operations: mutate this vector and return it, no allocation
+    public Vector2D addInPlace(double dx, double dy) {
+        x += dx;
+        y += dy;
+        return this;
+    }
+    
+    public Vector2D addInPlace(Vector2D other) {
+        return addInPlace(other.x, other.y);
+    }
+    
+    public Vector2D multiplyInPlace(double scalar) {
+        x *= scalar;
+        y *= scalar;
+        return this;
+    }
+    
+    public Vector2D normalizeInPlace() {
+        double mag = magnitude();
+        if (mag == 0) {
+            x = 0;
+            y = 0;
+        } else {
+            x /= mag;
+            y /= mag;
+        }
+        return this;
+    }
+    
     public void set(double x, double y) {
         this.x = x;
         this.y = y;
     }
     
+    public void set(Vector2D other) {
+        set(other.x, other.y);
+    }
+    
     @Override
     public String toString() {
         return String.format("(%.2f, %.2f)", x, y);